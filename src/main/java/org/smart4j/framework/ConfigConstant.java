@@ -11,10 +11,45 @@ public interface ConfigConstant {
     String JDBC_URL = "smart.framework.jdbc.url";
     String JDBC_USERNAME = "smart.framework.jdbc.username";
     String JDBC_PASSWORD = "smart.framework.jdbc.password";
+    String JDBC_REPLICA_URLS = "smart.framework.jdbc.replica_urls";
+    String JDBC_REPLICA_USERNAME = "smart.framework.jdbc.replica_username";
+    String JDBC_REPLICA_PASSWORD = "smart.framework.jdbc.replica_password";
+    String JDBC_REPLICA_BALANCE = "smart.framework.jdbc.replica_balance";
 
     String APP_BASE_PACKAGE = "smart.framework.app.base_package";
     String APP_JSP_PATH = "smart.framework.app.jsp_path";
+    String APP_VIEW_RENDERER = "smart.framework.app.view_renderer";
+    String APP_TEMPLATE_PATH = "smart.framework.app.template_path";
     String APP_ASSET_PATH = "smart.framework.app.asset_path";
+    String APP_ASSET_HANDLER = "smart.framework.app.asset_handler";
+    String APP_ASSET_MMAP_THRESHOLD = "smart.framework.app.asset_mmap_threshold";
+    String APP_ASSET_MAX_AGE = "smart.framework.app.asset_max_age";
+    String APP_ASSET_CACHE_SIZE = "smart.framework.app.asset_cache_size";
     String APP_UPLOAD_LIMIT = "smart.framework.app.upload_limit";
+    String APP_UPLOAD_THRESHOLD = "smart.framework.app.upload_threshold";
+    String APP_UPLOAD_TEMP_DIR = "smart.framework.app.upload_temp_dir";
+    String APP_UPLOAD_THREADS = "smart.framework.app.upload_threads";
+    String APP_UPLOAD_ATOMIC = "smart.framework.app.upload_atomic";
+    String APP_FORM_LIMIT = "smart.framework.app.form_limit";
+
+    String APP_ASYNC_TIMEOUT = "smart.framework.app.async_timeout";
+    String APP_ASYNC_TIMEOUT_STATUS = "smart.framework.app.async_timeout_status";
+    String APP_ASYNC_ERROR_STATUS = "smart.framework.app.async_error_status";
+
+    String APP_EXECUTOR = "smart.framework.app.executor";
+    String APP_EXECUTOR_THREADS = "smart.framework.app.executor_threads";
+
+    String APP_RESPONSE_CACHE_SIZE = "smart.framework.app.response_cache_size";
+    String APP_RESPONSE_CACHE_WAIT_TIMEOUT = "smart.framework.app.response_cache_wait_timeout";
+
+    String APP_LIMITER = "smart.framework.app.limiter";
+    String APP_LIMITER_INITIAL_LIMIT = "smart.framework.app.limiter_initial_limit";
+    String APP_LIMITER_MIN_LIMIT = "smart.framework.app.limiter_min_limit";
+    String APP_LIMITER_MAX_LIMIT = "smart.framework.app.limiter_max_limit";
+    String APP_LIMITER_QUEUE_SIZE = "smart.framework.app.limiter_queue_size";
+    String APP_LIMITER_QUEUE_TIMEOUT = "smart.framework.app.limiter_queue_timeout";
+
+    String APP_PROXY_CACHE_DIR = "smart.framework.app.proxy_cache_dir";
+    String APP_PROXY_CACHE_SECRET = "smart.framework.app.proxy_cache_secret";
 
 }
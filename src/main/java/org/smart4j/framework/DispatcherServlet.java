@@ -1,9 +1,19 @@
 package org.smart4j.framework;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.smart4j.framework.annotation.CacheableAction;
+import org.smart4j.framework.annotation.HttpCache;
 import org.smart4j.framework.bean.*;
+import org.smart4j.framework.binder.ArgumentBinder;
+import org.smart4j.framework.binder.BindException;
 import org.smart4j.framework.helper.*;
 import org.smart4j.framework.util.*;
+import org.smart4j.framework.view.CaptureResponseWrapper;
 
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
 import javax.servlet.ServletConfig;
 import javax.servlet.ServletContext;
 import javax.servlet.ServletException;
@@ -13,16 +23,26 @@ import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.io.PrintWriter;
-import java.lang.reflect.Method;
-import java.util.Map;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+import java.util.stream.BaseStream;
 
 /**
  * 请求转发器
  */
-@WebServlet(urlPatterns = "/*", loadOnStartup = 0)
+@WebServlet(urlPatterns = "/*", loadOnStartup = 0, asyncSupported = true)
 public class DispatcherServlet extends HttpServlet {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(DispatcherServlet.class);
+
     @Override
     public void init(ServletConfig config) throws ServletException {
 
@@ -33,10 +53,14 @@ public class DispatcherServlet extends HttpServlet {
         // 注册处理JSP的Servlet
         ServletRegistration jspServlet = servletContext.getServletRegistration("jsp");
         jspServlet.addMapping(ConfigHelper.getAppJspPath() + "*");
-        // 注册处理静态资源的默认Servlet
-        ServletRegistration defaultServlet = servletContext.getServletRegistration("default");
-        defaultServlet.addMapping(ConfigHelper.getAppAssetPath() + "*");
+        if (AssetHelper.isEnabled()) {// 由框架处理静态资源
+            AssetHelper.init(servletContext);
+        } else {// 注册处理静态资源的默认Servlet
+            ServletRegistration defaultServlet = servletContext.getServletRegistration("default");
+            defaultServlet.addMapping(ConfigHelper.getAppAssetPath() + "*");
+        }
         UploadHelper.init(servletContext);
+        ViewHelper.init(servletContext);
 
     }
 
@@ -48,99 +72,655 @@ public class DispatcherServlet extends HttpServlet {
         String requestMethod = req.getMethod();
         String requestPath = req.getPathInfo();
 
+        if (AssetHelper.isAsset(requestPath)) {// 静态资源
+            AssetHelper.handle(requestPath, req, resp);
+            return;
+        }
+
         ServletHelper.init(req, resp);
 
         if (requestPath.equals("/favicon.ico")) {// 图标
             return;
         }
         try {
-            // 获取Action处理器
-            Handler handler = ControllerHelper.getHandler(requestMethod, requestPath);
+            // 获取Action处理器：静态路由使用共享的空列表，匹配动态路由时才创建列表收集路径变量
+            List<FormParam> pathParamList = Collections.emptyList();
+            Handler handler = ControllerHelper.getStaticHandler(requestMethod, requestPath);
+            if (handler == null) {
+                pathParamList = new ArrayList<FormParam>(4);
+                handler = ControllerHelper.getHandler(requestMethod, requestPath, pathParamList);
+            }
             if (handler != null) {
-                // 获取Controller类及其Bean实例
-                Class<?> controllerClass = handler.getControllerClass();
-                Object controllerBean = BeanHelper.getBean(controllerClass);
-
-                Param param;
-                if (UploadHelper.isMultipart(req)) {// 文件上传
-                    param = UploadHelper.createParam(req);
-                } else {// 普通请求
-                    param = RequestHelper.createParam(req);
+                if (handler.getCacheableAction() != null && "GET".equals(requestMethod)) {// 可缓存的 GET 请求
+                    handleCacheableRequest(handler, pathParamList, requestPath, req, resp);
+                } else if (ExecutorHelper.isEnabled()) {// 在独立线程（如虚拟线程）中执行Action
+                    CompletableFuture<Object> future = new CompletableFuture<Object>();
+                    handleAsyncResult(handler, future, req, resp);
+                    try {
+                        ExecutorHelper.execute(createActionTask(handler, pathParamList, req, resp, future));
+                    } catch (RejectedExecutionException e) {// 线程池已关闭等原因无法提交，由异步处理返回503并结束AsyncContext
+                        future.completeExceptionally(new ConcurrencyLimitException("action executor rejected: "
+                                + handler.getActionMethod(), e));
+                    }
+                } else {// 在容器线程中执行Action
+                    Object result = invokeAction(handler, pathParamList, req);
+
+                    // 处理 Action 方法返回值
+                    handleActionResult(handler, result, req, resp);
                 }
+            }
+        } catch (ConcurrencyLimitException e) {// 超出并发上限，快速失败
+            LOGGER.warn(e.getMessage());
+            resp.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        } catch (BindException e) {// 请求参数有误
+            LOGGER.warn("bind argument failure: " + requestPath, e.getCause());
+            resp.sendError(HttpServletResponse.SC_BAD_REQUEST);
+        } catch (RequestTooLargeException e) {// 请求体超出大小上限
+            LOGGER.warn(e.getMessage() + ": " + requestPath);
+            resp.sendError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+        } finally {
+            // 容器线程会被复用，请求结束时归还本线程持有的数据库连接（否则之后的只读事务无法路由到从库）
+            try {
+                DatabaseHelper.closeConnection();
+            } catch (Throwable e) {
+                LOGGER.error("close connection failure", e);
+            }
+            ServletHelper.destory();
+        }
+
+    }
+
+    @Override
+    public void destroy() {
+
+        ExecutorHelper.destroy();
+        UploadHelper.destroy();
 
-                // 调用Action方法
-                Method actionMethod = handler.getActionMethod();
-                Object result;
-                if (param.isEmpty()) {
-                    result = ReflectionUtil.invokeMethod(controllerBean, actionMethod);
-                } else {
-                    result = ReflectionUtil.invokeMethod(controllerBean, actionMethod, param);
+    }
+
+    /**
+     * 解析请求参数并调用Action方法
+     *
+     * @param handler
+     *              Action处理器
+     * @param pathParamList
+     *              路径变量列表
+     * @param req
+     *              HttpServletRequest
+     * @return
+     *
+     * @throws IOException
+     */
+    private Object invokeAction(Handler handler, List<FormParam> pathParamList, HttpServletRequest req)
+            throws IOException {
+
+        ConcurrencyLimiter limiter = LimiterHelper.getLimiter(handler);
+        if (limiter == null) {
+            return doInvokeAction(handler, pathParamList, req);
+        }
+        if (!limiter.acquire()) {// 超出并发上限
+            throw new ConcurrencyLimitException("concurrency limit exceeded: " + handler.getActionMethod());
+        }
+        final ConcurrencyLimiter acquiredLimiter = limiter;
+        final long startTime = System.nanoTime();
+        boolean releaseNow = true;
+        try {
+            Object result = doInvokeAction(handler, pathParamList, req);
+            if (result instanceof CompletionStage) {// 异步结果完成时才释放许可
+                releaseNow = false;
+                ((CompletionStage<?>) result).whenComplete(new BiConsumer<Object, Throwable>() {
+                    public void accept(Object value, Throwable throwable) {
+                        acquiredLimiter.release(startTime);
+                    }
+                });
+            }
+            return result;
+        } finally {
+            if (releaseNow) {
+                limiter.release(startTime);
+            }
+        }
+
+    }
+
+    /**
+     * 解析请求参数并调用Action方法（不经过并发限制）
+     */
+    private Object doInvokeAction(Handler handler, List<FormParam> pathParamList, HttpServletRequest req)
+            throws IOException {
+
+        // 获取Controller类及其Bean实例
+        Class<?> controllerClass = handler.getControllerClass();
+        Object controllerBean = BeanHelper.getBean(controllerClass);
+
+        // 仅在 Action 方法需要时才解析请求参数（简单类型参数直接从请求中取值）
+        Param param = null;
+        if (UploadHelper.isMultipart(req)) {// 文件上传（流式上传时由 Action 方法自行读取请求体）
+            if (!handler.isStreamingUpload() && (handler.isParamRequired() || handler.isRequestParamBound())) {
+                param = UploadHelper.createParam(req, pathParamList);
+            }
+        } else if (handler.isParamRequired()) {// 普通请求
+            param = RequestHelper.createParam(req, pathParamList);
+        }
+
+        // 绑定参数并调用Action方法（通过启动时创建的调用句柄）
+        Object[] args = bindArguments(handler, pathParamList, req, param);
+        return handler.invoke(controllerBean, args);
+
+    }
+
+    /**
+     * 使用Action处理器的参数绑定器获取参数值
+     *
+     * @param handler
+     *              Action处理器
+     * @param pathParamList
+     *              路径变量列表
+     * @param req
+     *              HttpServletRequest
+     * @param param
+     *              请求参数对象（Action方法不需要时为null）
+     * @return
+     */
+    private Object[] bindArguments(Handler handler, List<FormParam> pathParamList, HttpServletRequest req,
+                                   Param param) {
+
+        ArgumentBinder[] argumentBinders = handler.getArgumentBinders();
+        Object[] args = new Object[argumentBinders.length];
+        try {
+            for (int i = 0; i < argumentBinders.length; i++) {
+                args[i] = argumentBinders[i].bind(req, pathParamList, param);
+            }
+        } catch (Exception e) {// 参数转换或请求体反序列化失败属于客户端错误
+            throw new BindException(e);
+        }
+        return args;
+
+    }
+
+    /**
+     * 创建在独立线程中执行Action的任务
+     *
+     * 任务线程用完即弃，因此需在其中绑定 ServletHelper，并在结束时释放本线程持有的数据库连接，
+     * 待线程本地变量清理完毕后再完成 future，由 handleAsyncResult 输出响应
+     *
+     * @param handler
+     *              Action处理器
+     * @param pathParamList
+     *              路径变量列表
+     * @param req
+     *              HttpServletRequest
+     * @param resp
+     *              HttpServletResponse
+     * @param future
+     *              用于传递Action返回值
+     * @return
+     */
+    private Runnable createActionTask(final Handler handler, final List<FormParam> pathParamList,
+                                      final HttpServletRequest req, final HttpServletResponse resp,
+                                      final CompletableFuture<Object> future) {
+
+        return new Runnable() {
+            public void run() {
+                Object result = null;
+                Throwable throwable = null;
+                ServletHelper.init(req, resp);
+                try {
+                    result = invokeAction(handler, pathParamList, req);
+                } catch (Throwable e) {
+                    throwable = e;
+                }
+                try {
+                    // 在关闭数据库连接之前完成Future：输出响应的回调已在提交任务前注册，会在当前线程中执行，
+                    // 因此延迟求值的返回值（Stream、Iterator、StreamData）在连接关闭前即被输出
+                    completeFuture(future, result, throwable);
+                } finally {
+                    try {
+                        DatabaseHelper.closeConnection();
+                    } catch (Throwable e) {
+                        LOGGER.error("close connection failure", e);
+                    }
+                    ServletHelper.destory();
+                }
+            }
+        };
+
+    }
+
+    /**
+     * 将Action返回值传递给Future
+     *
+     * @param future
+     *              用于传递Action返回值
+     * @param result
+     *              Action返回值
+     * @param throwable
+     *              Action抛出的异常
+     */
+    private void completeFuture(final CompletableFuture<Object> future, Object result, Throwable throwable) {
+
+        if (throwable != null) {
+            future.completeExceptionally(throwable);
+        } else if (result instanceof CompletionStage) {// Action 本身返回异步结果
+            ((CompletionStage<?>) result).whenComplete(new BiConsumer<Object, Throwable>() {
+                public void accept(Object value, Throwable e) {
+                    if (e != null) {
+                        future.completeExceptionally(e);
+                    } else {
+                        future.complete(value);
+                    }
                 }
+            });
+        } else {
+            future.complete(result);
+        }
 
-                // 处理 Action 方法返回值
-                if (result instanceof View) {// 返回jsp页面
-                    handleViewResult((View) result, req, resp);
-                } else if (result instanceof Data) {// 返回 JSON 数据
-                    handleDataResult((Data) result, resp);
+    }
+
+    /**
+     * 处理可缓存的请求：命中时直接输出缓存的响应数据（无需获取Bean、解析参数与序列化），
+     * 未命中时只由一个线程调用Action并写入缓存，其它线程等待其结果
+     *
+     * @param handler
+     *              Action处理器
+     * @param pathParamList
+     *              路径变量列表
+     * @param requestPath
+     *              请求路径
+     * @param req
+     *              HttpServletRequest
+     * @param resp
+     *              HttpServletResponse
+     * @throws IOException
+     *
+     * @throws ServletException
+     */
+    private void handleCacheableRequest(Handler handler, List<FormParam> pathParamList, String requestPath,
+                                        HttpServletRequest req, HttpServletResponse resp)
+            throws IOException, ServletException {
+
+        CacheableAction cacheableAction = handler.getCacheableAction();
+        String cacheKey = ResponseCacheHelper.createKey(requestPath, req, cacheableAction);
+        ResponseCacheHelper.CachedResponse cachedResponse = ResponseCacheHelper.get(cacheKey);
+        if (cachedResponse == null) {
+            CompletableFuture<ResponseCacheHelper.CachedResponse> loading = ResponseCacheHelper.startLoading(cacheKey);
+            if (loading != null) {// 其它线程正在计算
+                cachedResponse = ResponseCacheHelper.await(loading);
+            } else {// 由当前线程计算
+                long evictionCount = ResponseCacheHelper.getEvictionCount();
+                String[] tags = ResponseCacheHelper.resolveTags(cacheableAction.tags(), pathParamList);
+                Object result = null;
+                CaptureResponseWrapper capturedResponse = null;
+                try {
+                    result = invokeAction(handler, pathParamList, req);
+                    if (isCacheableView(result)) {// 将页面渲染到缓冲区，不直接输出
+                        capturedResponse = new CaptureResponseWrapper(resp);
+                        ViewHelper.getViewRenderer().render((View) result, req, capturedResponse, null);
+                    }
+                    cachedResponse = createCachedResponse(handler, result, capturedResponse, tags);
+                } finally {
+                    ResponseCacheHelper.complete(cacheKey, cachedResponse, evictionCount);
+                }
+                if (cachedResponse == null) {
+                    if (capturedResponse != null) {// 页面已渲染但无法缓存（如出错或重定向），直接输出
+                        writeCapturedResponse(capturedResponse, resp);
+                    } else {// 无法缓存的返回值按常规方式处理
+                        handleActionResult(handler, result, req, resp);
+                    }
+                    return;
                 }
             }
-        } finally {
-            ServletHelper.destory();
         }
+        if (cachedResponse != null) {
+            writeCachedResponse(handler, cachedResponse, req, resp);
+        } else {// 等待的计算结果无法缓存，自行调用Action
+            handleActionResult(handler, invokeAction(handler, pathParamList, req), req, resp);
+        }
+
+    }
+
+    /**
+     * 判断返回值是否为可缓存的页面（重定向不缓存）
+     */
+    private boolean isCacheableView(Object result) {
+
+        if (!(result instanceof View)) {
+            return false;
+        }
+        String path = ((View) result).getPath();
+        return StringUtil.isNotEmpty(path) && !path.startsWith("/");
+
+    }
+
+    /**
+     * 根据 Action 方法返回值创建缓存数据（缓存 Data 与已渲染的页面）
+     *
+     * @param handler
+     *              Action处理器
+     * @param result
+     *              Action 方法返回值
+     * @param capturedResponse
+     *              已渲染的页面（返回值不是页面时为null）
+     * @param tags
+     *              缓存标签
+     * @return 无法缓存时返回null
+     */
+    private ResponseCacheHelper.CachedResponse createCachedResponse(Handler handler, Object result,
+                                                                    CaptureResponseWrapper capturedResponse,
+                                                                    String[] tags) {
+
+        String contentType;
+        byte[] body;
+        String eTag;
+        long lastModified;
+        if (capturedResponse != null) {
+            if (!capturedResponse.isCacheable()) {
+                return null;
+            }
+            View view = (View) result;
+            contentType = capturedResponse.getContentType();
+            if (contentType == null) {
+                contentType = "text/html;charset=UTF-8";
+            }
+            body = capturedResponse.toByteArray();
+            eTag = view.getETag();
+            lastModified = view.getLastModified();
+        } else if (result instanceof Data && ((Data) result).getModel() != null) {
+            Data data = (Data) result;
+            contentType = "application/json;charset=UTF-8";
+            body = JsonUtil.toJsonBytes(data.getModel());
+            eTag = data.getETag();
+            lastModified = data.getLastModified();
+        } else {
+            return null;
+        }
+        HttpCache httpCache = handler.getHttpCache();
+        if (eTag == null && httpCache != null && httpCache.etag()) {
+            eTag = CodecUtil.encodeMD5(body);
+        }
+        eTag = eTag != null ? HttpCacheHelper.toETag(eTag) : null;
+        return new ResponseCacheHelper.CachedResponse(contentType, body, eTag, lastModified,
+                handler.getCacheableAction().ttl(), tags);
+
+    }
+
+    /**
+     * 输出已渲染但无法缓存的页面（响应已提交时说明已发送错误或重定向，无需再输出）
+     *
+     * @param capturedResponse
+     *              已渲染的页面
+     * @param resp
+     *              HttpServletResponse
+     * @throws IOException
+     */
+    private void writeCapturedResponse(CaptureResponseWrapper capturedResponse, HttpServletResponse resp)
+            throws IOException {
+
+        if (resp.isCommitted()) {
+            return;
+        }
+        byte[] body = capturedResponse.toByteArray();
+        resp.setContentLength(body.length);
+        OutputStream outputStream = resp.getOutputStream();
+        outputStream.write(body);
+        outputStream.close();
 
     }
 
     /**
-     * 返回jsp页面
+     * 输出缓存的响应数据
      *
+     * @param handler
+     *              Action处理器
+     * @param cachedResponse
+     *              缓存的响应数据
+     * @param req
+     *              HttpServletRequest
+     * @param resp
+     *              HttpServletResponse
+     * @throws IOException
+     */
+    private void writeCachedResponse(Handler handler, ResponseCacheHelper.CachedResponse cachedResponse,
+                                     HttpServletRequest req, HttpServletResponse resp) throws IOException {
+
+        HttpCache httpCache = handler.getHttpCache();
+        if (httpCache != null && HttpCacheHelper.checkNotModified(httpCache, cachedResponse.getETag(),
+                cachedResponse.getLastModified(), req, resp)) {
+            return;
+        }
+        byte[] body = cachedResponse.getBody();
+        resp.setContentType(cachedResponse.getContentType());
+        resp.setContentLength(body.length);
+        OutputStream outputStream = resp.getOutputStream();
+        outputStream.write(body);
+        outputStream.close();
+
+    }
+
+    /**
+     * 处理 Action 方法返回值（包括异步返回值）
+     *
+     * @param handler
+     *              Action处理器
+     * @param result
+     *              Action 方法返回值
+     * @param req
+     *              HttpServletRequest
+     * @param resp
+     *              HttpServletResponse
+     * @throws IOException
+     *
+     * @throws ServletException
+     */
+    private void handleActionResult(Handler handler, Object result, HttpServletRequest req, HttpServletResponse resp)
+            throws IOException, ServletException {
+
+        if (result instanceof CompletionStage) {// 异步返回
+            handleAsyncResult(handler, (CompletionStage<?>) result, req, resp);
+        } else {
+            handleResult(handler, result, req, resp, null);
+        }
+
+    }
+
+    /**
+     * 处理 Action 方法返回值
+     *
+     * @param handler
+     *              Action处理器
+     * @param result
+     *              Action 方法返回值
+     * @param req
+     *              HttpServletRequest
+     * @param resp
+     *              HttpServletResponse
+     * @param asyncContext
+     *              异步上下文（同步处理时为null）
+     * @return 是否已将请求异步转发（转发后不可再调用 AsyncContext#complete）
+     *
+     * @throws IOException
+     *
+     * @throws ServletException
+     */
+    private boolean handleResult(Handler handler, Object result, HttpServletRequest req, HttpServletResponse resp,
+                                 AsyncContext asyncContext) throws IOException, ServletException {
+
+        boolean dispatched = false;
+        if (result instanceof View) {// 返回页面
+            dispatched = handleViewResult(handler, (View) result, req, resp, asyncContext);
+        } else if (result instanceof Data) {// 返回 JSON 数据
+            handleDataResult(handler, (Data) result, req, resp);
+        } else if (result instanceof StreamData) {// 返回流式数据
+            StreamHelper.writeStream((StreamData) result, resp);
+        } else if (result instanceof BaseStream) {// 直接返回 Stream 时按 JSON 数组输出
+            StreamHelper.writeStream(new StreamData((BaseStream<?, ?>) result), resp);
+        } else if (result instanceof Iterator) {// 直接返回 Iterator 时按 JSON 数组输出
+            StreamHelper.writeStream(new StreamData((Iterator<?>) result), resp);
+        }
+        return dispatched;
+
+    }
+
+    /**
+     * 处理异步返回值：开启AsyncContext并释放容器线程，待Future完成后再输出响应
+     *
+     * @param handler
+     *              Action处理器
+     * @param future
+     *              Action 方法返回的 CompletionStage（结果为 View 或 Data）
+     * @param req
+     *              HttpServletRequest
+     * @param resp
+     *              HttpServletResponse
+     */
+    private void handleAsyncResult(final Handler handler, CompletionStage<?> future, final HttpServletRequest req,
+                                   final HttpServletResponse resp) {
+
+        final AsyncContext asyncContext = req.startAsync(req, resp);
+        asyncContext.setTimeout(ConfigHelper.getAppAsyncTimeout());
+        // 保证超时、出错与正常完成三者只有一个会输出响应
+        final AtomicBoolean finished = new AtomicBoolean(false);
+        asyncContext.addListener(new AsyncListener() {
+            public void onComplete(AsyncEvent event) {}
+
+            public void onTimeout(AsyncEvent event) throws IOException {
+                if (finished.compareAndSet(false, true)) {
+                    LOGGER.error("async action timeout: " + req.getPathInfo());
+                    resp.sendError(ConfigHelper.getAppAsyncTimeoutStatus());
+                    asyncContext.complete();
+                }
+            }
+
+            public void onError(AsyncEvent event) throws IOException {
+                if (finished.compareAndSet(false, true)) {
+                    LOGGER.error("async action failure", event.getThrowable());
+                    resp.sendError(ConfigHelper.getAppAsyncErrorStatus());
+                    asyncContext.complete();
+                }
+            }
+
+            public void onStartAsync(AsyncEvent event) {}
+        });
+        future.whenComplete(new BiConsumer<Object, Throwable>() {
+            public void accept(Object result, Throwable throwable) {
+                if (!finished.compareAndSet(false, true)) {// 已超时或已出错
+                    return;
+                }
+                boolean dispatched = false;
+                ServletHelper.init(req, resp);
+                try {
+                    if (throwable instanceof ConcurrencyLimitException) {// 超出并发上限
+                        LOGGER.warn(throwable.getMessage());
+                        resp.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+                    } else if (throwable instanceof BindException) {// 请求参数有误
+                        LOGGER.warn("bind argument failure: " + req.getPathInfo(), throwable.getCause());
+                        resp.sendError(HttpServletResponse.SC_BAD_REQUEST);
+                    } else if (throwable instanceof RequestTooLargeException) {// 请求体超出大小上限
+                        LOGGER.warn(throwable.getMessage() + ": " + req.getPathInfo());
+                        resp.sendError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+                    } else if (throwable != null) {
+                        LOGGER.error("async action failure", throwable);
+                        resp.sendError(ConfigHelper.getAppAsyncErrorStatus());
+                    } else {
+                        dispatched = handleResult(handler, result, req, resp, asyncContext);
+                    }
+                } catch (Exception e) {
+                    LOGGER.error("handle async result failure", e);
+                } finally {
+                    ServletHelper.destory();
+                    if (!dispatched) {
+                        asyncContext.complete();
+                    }
+                }
+            }
+        });
+
+    }
+
+    /**
+     * 返回页面
+     *
+     * @param handler
+     *              Action处理器
      * @param view
      *              页面对象
      * @param req
      *              HttpServletRequest
      * @param resp
      *              HttpServletResponse
+     * @param asyncContext
+     *              异步上下文（同步处理时为null）
+     * @return 是否已将请求异步转发
+     *
      * @throws IOException
      *
      * @throws ServletException
      */
-    private void handleViewResult(View view, HttpServletRequest req, HttpServletResponse resp)
-            throws IOException, ServletException {
+    private boolean handleViewResult(Handler handler, View view, HttpServletRequest req, HttpServletResponse resp,
+                                     AsyncContext asyncContext) throws IOException, ServletException {
 
         String path = view.getPath();
         if (StringUtil.isNotEmpty(path)) {
             if (path.startsWith("/")) {// 绝对路径
                 resp.sendRedirect(req.getContextPath() + path);
             } else {// 相对路径
-                Map<String, Object> model = view.getModel();
-                for (Map.Entry<String, Object> entry: model.entrySet()) {
-                    req.setAttribute(entry.getKey(), entry.getValue());
+                HttpCache httpCache = handler.getHttpCache();
+                if (httpCache != null && HttpCacheHelper.isConditional(req)) {// 仅使用 Action 提供的 ETag 与最后修改时间
+                    String eTag = view.getETag() != null ? HttpCacheHelper.toETag(view.getETag()) : null;
+                    if (HttpCacheHelper.checkNotModified(httpCache, eTag, view.getLastModified(), req, resp)) {
+                        return false;
+                    }
                 }
-                req.getRequestDispatcher(ConfigHelper.getAppJspPath() + path).forward(req, resp);
+                // 由配置的视图渲染器输出页面（默认转发到 JSP）
+                return ViewHelper.getViewRenderer().render(view, req, resp, asyncContext);
             }
         }
+        return false;
 
     }
 
     /**
      * 返回json数据
      *
+     * @param handler
+     *              Action处理器
      * @param data
      *              json数据对象
+     * @param req
+     *              HttpServletRequest
      * @param resp
      *              HttpServletResponse
      * @throws IOException
      */
-    private void handleDataResult(Data data, HttpServletResponse resp) throws IOException {
+    private void handleDataResult(Handler handler, Data data, HttpServletRequest req, HttpServletResponse resp)
+            throws IOException {
 
         Object model = data.getModel();
         if (model != null) {
+            byte[] body = null;
+            HttpCache httpCache = handler.getHttpCache();
+            if (httpCache != null && HttpCacheHelper.isConditional(req)) {
+                String eTag = data.getETag();
+                if (eTag == null && httpCache.etag()) {// 根据序列化后的数据计算强 ETag
+                    body = JsonUtil.toJsonBytes(model);
+                    eTag = CodecUtil.encodeMD5(body);
+                }
+                eTag = eTag != null ? HttpCacheHelper.toETag(eTag) : null;
+                if (HttpCacheHelper.checkNotModified(httpCache, eTag, data.getLastModified(), req, resp)) {
+                    return;
+                }
+            }
             resp.setContentType("application/json");
             resp.setCharacterEncoding("UTF-8");
-            PrintWriter writer = resp.getWriter();
-            String json = JsonUtil.toJson(model);
-            writer.write(json);
-            writer.flush();
-            writer.close();
+            OutputStream outputStream = resp.getOutputStream();
+            if (body != null) {// 已序列化（计算 ETag 时）
+                resp.setContentLength(body.length);
+                outputStream.write(body);
+            } else {
+                // 直接以 UTF-8 字节流写出；不主动 flush，由容器在响应缓冲区内能容纳时设置 Content-Length，否则使用分块传输
+                JsonUtil.writeJson(outputStream, model);
+            }
+            outputStream.close();
         }
 
     }
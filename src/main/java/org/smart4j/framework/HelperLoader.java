@@ -15,7 +15,8 @@ public final class HelperLoader {
                 BeanHelper.class,
                 AopHelper.class,
                 IocHelper.class,
-                ControllerHelper.class
+                ControllerHelper.class,
+                ExecutorHelper.class
         };
         for (Class<?> cls: classList) {
             ClassUtil.loadClass(cls.getName(), true);
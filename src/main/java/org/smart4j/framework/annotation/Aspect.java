@@ -9,7 +9,15 @@ import java.lang.annotation.*;
 @Retention(RetentionPolicy.RUNTIME)
 public @interface Aspect {
 
-    // 注解
-    Class<? extends Annotation> value();
+    // 注解（目标类上带有该注解，默认不限制）
+    Class<? extends Annotation> value() default Aspect.class;
+
+    /**
+     * 切点表达式（仅代理匹配的方法，与value同时设置时需同时满足），例如：
+     * execution(* com.example..*Service.get*(..))
+     * within(com.example.service..*) && @annotation(com.example.Log)
+     * 支持 execution、within、@annotation、@within 以及 &&、||、! 和括号
+     */
+    String pointcut() default "";
 
 }
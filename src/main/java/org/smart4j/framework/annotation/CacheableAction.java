@@ -0,0 +1,43 @@
+package org.smart4j.framework.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 可缓存的 Action 方法注解（对 GET 请求缓存序列化后的响应数据或渲染后的页面，以请求路径与请求参数为键）
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CacheableAction {
+
+    /**
+     * 缓存有效期（单位：秒）
+     *
+     * @return
+     */
+    int ttl() default 60;
+
+    /**
+     * 参与缓存键的请求参数名（为空时使用全部请求参数）
+     *
+     * @return
+     */
+    String[] params() default {};
+
+    /**
+     * 参与缓存键的 Session 属性名（为空时不区分 Session，无 Session 时按空值处理）
+     *
+     * @return
+     */
+    String varyBySession() default "";
+
+    /**
+     * 缓存标签（可通过 ResponseCacheHelper.evictByTag 清除，可使用 {name} 引用路径变量）
+     *
+     * @return
+     */
+    String[] tags() default {};
+
+}
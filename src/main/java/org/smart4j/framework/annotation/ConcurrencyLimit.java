@@ -0,0 +1,57 @@
+package org.smart4j.framework.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 并发限制注解（用于 Action 方法，覆盖全局的并发限制配置；取值为 -1 的属性使用全局配置）
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConcurrencyLimit {
+
+    /**
+     * 是否启用并发限制
+     *
+     * @return
+     */
+    boolean enabled() default true;
+
+    /**
+     * 初始并发上限
+     *
+     * @return
+     */
+    int initialLimit() default -1;
+
+    /**
+     * 并发上限的最小值
+     *
+     * @return
+     */
+    int minLimit() default -1;
+
+    /**
+     * 并发上限的最大值
+     *
+     * @return
+     */
+    int maxLimit() default -1;
+
+    /**
+     * 等待队列长度（0 表示超出上限时立即拒绝）
+     *
+     * @return
+     */
+    int queueSize() default -1;
+
+    /**
+     * 在等待队列中的最长等待时间（单位：毫秒）
+     *
+     * @return
+     */
+    int queueTimeout() default -1;
+
+}
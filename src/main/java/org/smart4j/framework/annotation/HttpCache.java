@@ -0,0 +1,29 @@
+package org.smart4j.framework.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * HTTP 缓存注解（用于 Action 方法，开启 ETag、Last-Modified 与条件 GET 支持）
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface HttpCache {
+
+    /**
+     * Cache-Control 响应头（如 max-age=60）
+     *
+     * @return
+     */
+    String cacheControl() default "";
+
+    /**
+     * Action 未提供 ETag 时，是否根据返回的 JSON 数据计算强 ETag
+     *
+     * @return
+     */
+    boolean etag() default true;
+
+}
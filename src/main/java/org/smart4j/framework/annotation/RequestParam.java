@@ -0,0 +1,22 @@
+package org.smart4j.framework.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 请求参数注解（用于 Action 方法参数，按参数名从路径变量或请求参数中取值）
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RequestParam {
+
+    /**
+     * 参数名（为空时使用方法参数名，需以 -parameters 编译）
+     *
+     * @return
+     */
+    String value() default "";
+
+}
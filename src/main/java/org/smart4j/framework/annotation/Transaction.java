@@ -6,10 +6,19 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
 /**
- * 定义需要事务控制的方法
+ * 定义需要事务控制的方法（嵌套调用时以最外层事务的属性为准）
  */
 @Target(ElementType.METHOD)
 @Retention(RetentionPolicy.RUNTIME)
 public @interface Transaction {
 
+    // 是否只读（配置了从库时只读事务在从库上执行）
+    boolean readOnly() default false;
+
+    // 隔离级别（取值为 java.sql.Connection.TRANSACTION_*，TRANSACTION_NONE 与默认值均使用数据库连接的隔离级别）
+    int isolation() default -1;
+
+    // 超时时间（单位：秒，超过后执行SQL语句时抛出异常并回滚，默认不限制）
+    int timeout() default -1;
+
 }
@@ -0,0 +1,241 @@
+package org.smart4j.framework.bean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.smart4j.framework.util.ReflectionUtil;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Action调用器
+ *
+ * 启动时通过 LambdaMetafactory 为每个Action方法生成函数式接口的实现类，实现类中直接调用Action方法，
+ * JIT 可将Action方法内联到调用器中；参数个数超过 {@link #MAX_LAMBDA_ARITY}、返回 void 或无法访问的方法使用方法句柄调用
+ */
+public abstract class ActionInvoker {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ActionInvoker.class);
+
+    // 生成函数式接口实现类的最大参数个数
+    private static final int MAX_LAMBDA_ARITY = 5;
+
+    // 方法句柄调用形式：(Controller实例, 参数数组) -> 返回值
+    private static final MethodType HANDLE_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+
+    // 按参数个数区分的函数式接口
+    private static final Class<?>[] FUNCTION_TYPES = {
+            Function0.class, Function1.class, Function2.class, Function3.class, Function4.class, Function5.class
+    };
+
+    /**
+     * 调用Action方法
+     *
+     * @param controllerBean
+     *                          Controller实例
+     * @param args
+     *                          参数值
+     * @return
+     * @throws Throwable
+     */
+    public abstract Object invoke(Object controllerBean, Object[] args) throws Throwable;
+
+    /**
+     * 创建Action调用器
+     *
+     * @param actionMethod
+     *                      Action方法
+     * @return
+     */
+    public static ActionInvoker create(Method actionMethod) {
+
+        if (isLambdaSupported(actionMethod)) {
+            try {
+                return createLambdaInvoker(actionMethod);
+            } catch (Throwable e) {// 如类加载器不可见等情况，使用方法句柄调用
+                LOGGER.debug("create lambda invoker failure: " + actionMethod, e);
+            }
+        }
+        return new HandleInvoker(actionMethod);
+
+    }
+
+    private static boolean isLambdaSupported(Method actionMethod) {
+
+        return actionMethod.getParameterTypes().length <= MAX_LAMBDA_ARITY
+                && actionMethod.getReturnType() != void.class
+                && Modifier.isPublic(actionMethod.getModifiers())
+                && Modifier.isPublic(actionMethod.getDeclaringClass().getModifiers())
+                && !Modifier.isStatic(actionMethod.getModifiers());
+
+    }
+
+    private static ActionInvoker createLambdaInvoker(Method actionMethod) throws Throwable {
+
+        Class<?>[] parameterTypes = actionMethod.getParameterTypes();
+        Class<?> functionType = FUNCTION_TYPES[parameterTypes.length];
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodHandle implMethod = lookup.unreflect(actionMethod);
+        // 接口方法的参数均为 Object；实例化类型使用包装类型，由 LambdaMetafactory 生成类型转换与拆装箱
+        Class<?>[] samParameterTypes = new Class<?>[parameterTypes.length + 1];
+        Class<?>[] instantiatedParameterTypes = new Class<?>[parameterTypes.length + 1];
+        samParameterTypes[0] = Object.class;
+        instantiatedParameterTypes[0] = actionMethod.getDeclaringClass();
+        for (int i = 0; i < parameterTypes.length; i++) {
+            samParameterTypes[i + 1] = Object.class;
+            instantiatedParameterTypes[i + 1] = MethodType.methodType(parameterTypes[i]).wrap().returnType();
+        }
+        MethodType samMethodType = MethodType.methodType(Object.class, samParameterTypes);
+        MethodType instantiatedMethodType = MethodType.methodType(
+                MethodType.methodType(actionMethod.getReturnType()).wrap().returnType(), instantiatedParameterTypes);
+        Object function = LambdaMetafactory.metafactory(lookup, "invoke", MethodType.methodType(functionType),
+                samMethodType, implMethod, instantiatedMethodType).getTarget().invoke();
+        switch (parameterTypes.length) {
+            case 0:
+                return new LambdaInvoker0((Function0) function);
+            case 1:
+                return new LambdaInvoker1((Function1) function);
+            case 2:
+                return new LambdaInvoker2((Function2) function);
+            case 3:
+                return new LambdaInvoker3((Function3) function);
+            case 4:
+                return new LambdaInvoker4((Function4) function);
+            default:
+                return new LambdaInvoker5((Function5) function);
+        }
+
+    }
+
+    interface Function0 {
+        Object invoke(Object bean);
+    }
+
+    interface Function1 {
+        Object invoke(Object bean, Object a0);
+    }
+
+    interface Function2 {
+        Object invoke(Object bean, Object a0, Object a1);
+    }
+
+    interface Function3 {
+        Object invoke(Object bean, Object a0, Object a1, Object a2);
+    }
+
+    interface Function4 {
+        Object invoke(Object bean, Object a0, Object a1, Object a2, Object a3);
+    }
+
+    interface Function5 {
+        Object invoke(Object bean, Object a0, Object a1, Object a2, Object a3, Object a4);
+    }
+
+    private static final class LambdaInvoker0 extends ActionInvoker {
+
+        private final Function0 function;
+
+        LambdaInvoker0(Function0 function) {
+            this.function = function;
+        }
+
+        public Object invoke(Object controllerBean, Object[] args) {
+            return function.invoke(controllerBean);
+        }
+
+    }
+
+    private static final class LambdaInvoker1 extends ActionInvoker {
+
+        private final Function1 function;
+
+        LambdaInvoker1(Function1 function) {
+            this.function = function;
+        }
+
+        public Object invoke(Object controllerBean, Object[] args) {
+            return function.invoke(controllerBean, args[0]);
+        }
+
+    }
+
+    private static final class LambdaInvoker2 extends ActionInvoker {
+
+        private final Function2 function;
+
+        LambdaInvoker2(Function2 function) {
+            this.function = function;
+        }
+
+        public Object invoke(Object controllerBean, Object[] args) {
+            return function.invoke(controllerBean, args[0], args[1]);
+        }
+
+    }
+
+    private static final class LambdaInvoker3 extends ActionInvoker {
+
+        private final Function3 function;
+
+        LambdaInvoker3(Function3 function) {
+            this.function = function;
+        }
+
+        public Object invoke(Object controllerBean, Object[] args) {
+            return function.invoke(controllerBean, args[0], args[1], args[2]);
+        }
+
+    }
+
+    private static final class LambdaInvoker4 extends ActionInvoker {
+
+        private final Function4 function;
+
+        LambdaInvoker4(Function4 function) {
+            this.function = function;
+        }
+
+        public Object invoke(Object controllerBean, Object[] args) {
+            return function.invoke(controllerBean, args[0], args[1], args[2], args[3]);
+        }
+
+    }
+
+    private static final class LambdaInvoker5 extends ActionInvoker {
+
+        private final Function5 function;
+
+        LambdaInvoker5(Function5 function) {
+            this.function = function;
+        }
+
+        public Object invoke(Object controllerBean, Object[] args) {
+            return function.invoke(controllerBean, args[0], args[1], args[2], args[3], args[4]);
+        }
+
+    }
+
+    /**
+     * 使用方法句柄调用（将参数数组展开后调用）
+     */
+    private static final class HandleInvoker extends ActionInvoker {
+
+        private final MethodHandle methodHandle;
+
+        HandleInvoker(Method actionMethod) {
+            int parameterCount = actionMethod.getParameterTypes().length;
+            this.methodHandle = ReflectionUtil.unreflect(actionMethod)
+                    .asSpreader(Object[].class, parameterCount).asType(HANDLE_TYPE);
+        }
+
+        public Object invoke(Object controllerBean, Object[] args) throws Throwable {
+            return (Object) methodHandle.invokeExact(controllerBean, args);
+        }
+
+    }
+
+}
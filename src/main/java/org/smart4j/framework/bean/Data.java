@@ -8,6 +8,12 @@ public class Data {
     // 模型数据
     private Object model;
 
+    // 实体标签（由 Action 提供时不再根据模型数据计算）
+    private String eTag;
+
+    // 最后修改时间（毫秒，-1 表示未提供）
+    private long lastModified = -1;
+
     public Data(Object model) {
         this.model = model;
     }
@@ -16,4 +22,40 @@ public class Data {
         return model;
     }
 
+    public String getETag() {
+        return eTag;
+    }
+
+    /**
+     * 设置实体标签（需配合 HttpCache 注解使用）
+     *
+     * @param eTag
+     *              实体标签
+     * @return
+     */
+    public Data setETag(String eTag) {
+
+        this.eTag = eTag;
+        return this;
+
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * 设置最后修改时间（需配合 HttpCache 注解使用）
+     *
+     * @param lastModified
+     *              最后修改时间（毫秒）
+     * @return
+     */
+    public Data setLastModified(long lastModified) {
+
+        this.lastModified = lastModified;
+        return this;
+
+    }
+
 }
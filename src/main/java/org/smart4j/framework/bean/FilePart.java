@@ -0,0 +1,60 @@
+package org.smart4j.framework.bean;
+
+import org.apache.commons.io.IOUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 封装流式上传中的一个表单项（只能按顺序读取一次，读取下一项后本项的输入流失效）
+ */
+public class FilePart {
+
+    private String fieldName;// 表单的字段名
+    private String fileName;// 上传文件的文件名（普通表单数据为null）
+    private String contentType;// 上传文件的Content-Type
+    private InputStream inputStream;// 表单项的字节输入流（直接读取请求体）
+
+    public FilePart(String fieldName, String fileName, String contentType, InputStream inputStream) {
+        this.fieldName = fieldName;
+        this.fileName = fileName;
+        this.contentType = contentType;
+        this.inputStream = inputStream;
+    }
+
+    public String getFieldName() {
+        return fieldName;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public InputStream getInputStream() {
+        return inputStream;
+    }
+
+    /**
+     * 是否为普通表单数据
+     *
+     * @return
+     */
+    public boolean isFormField() {
+        return fileName == null;
+    }
+
+    /**
+     * 按 UTF-8 读取普通表单数据的值
+     *
+     * @return
+     * @throws IOException
+     */
+    public String getString() throws IOException {
+        return IOUtils.toString(inputStream, "UTF-8");
+    }
+
+}
@@ -1,5 +1,17 @@
 package org.smart4j.framework.bean;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.smart4j.framework.annotation.CacheableAction;
+import org.smart4j.framework.annotation.ConcurrencyLimit;
+import org.smart4j.framework.annotation.HttpCache;
+import org.smart4j.framework.binder.ArgumentBinder;
+import org.smart4j.framework.binder.BinderManager;
+import org.smart4j.framework.binder.ParamBinder;
+import org.smart4j.framework.binder.PartIteratorBinder;
+import org.smart4j.framework.binder.RequestParamBinder;
+
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 
 /**
@@ -7,15 +19,61 @@ import java.lang.reflect.Method;
  */
 public class Handler {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(Handler.class);
+
     // Controller类
     private Class<?> controllerClass;
 
     // Action方法
     private Method actionMethod;
 
+    // Action调用器（启动时生成，避免每次请求反射调用）
+    private final ActionInvoker actionInvoker;
+
+    // 参数绑定器（启动时按方法签名创建）
+    private final ArgumentBinder[] argumentBinders;
+
+    // 是否需要创建请求参数对象
+    private final boolean paramRequired;
+
+    // 是否存在按参数名取值的参数
+    private final boolean requestParamBound;
+
+    // 是否以流式方式读取上传文件
+    private final boolean streamingUpload;
+
+    // HTTP 缓存注解（启动时解析，未标注时为 null）
+    private final HttpCache httpCache;
+
+    // 响应缓存注解（启动时解析，未标注时为 null）
+    private final CacheableAction cacheableAction;
+
+    // 并发限制注解（启动时解析，未标注时为 null）
+    private final ConcurrencyLimit concurrencyLimit;
+
     public Handler(Class<?> controllerClass, Method actionMethod) {
         this.controllerClass = controllerClass;
         this.actionMethod = actionMethod;
+        this.actionInvoker = ActionInvoker.create(actionMethod);
+        this.argumentBinders = BinderManager.createBinders(actionMethod);
+        boolean paramRequired = false;
+        boolean requestParamBound = false;
+        boolean streamingUpload = false;
+        for (ArgumentBinder argumentBinder: argumentBinders) {
+            if (argumentBinder instanceof ParamBinder) {
+                paramRequired = true;
+            } else if (argumentBinder instanceof RequestParamBinder) {
+                requestParamBound = true;
+            } else if (argumentBinder instanceof PartIteratorBinder) {
+                streamingUpload = true;
+            }
+        }
+        this.paramRequired = paramRequired;
+        this.requestParamBound = requestParamBound;
+        this.streamingUpload = streamingUpload;
+        this.httpCache = actionMethod.getAnnotation(HttpCache.class);
+        this.cacheableAction = actionMethod.getAnnotation(CacheableAction.class);
+        this.concurrencyLimit = actionMethod.getAnnotation(ConcurrencyLimit.class);
     }
 
     public Class<?> getControllerClass() {
@@ -26,4 +84,71 @@ public class Handler {
         return actionMethod;
     }
 
+    public HttpCache getHttpCache() {
+        return httpCache;
+    }
+
+    public CacheableAction getCacheableAction() {
+        return cacheableAction;
+    }
+
+    public ConcurrencyLimit getConcurrencyLimit() {
+        return concurrencyLimit;
+    }
+
+    public ArgumentBinder[] getArgumentBinders() {
+        return argumentBinders;
+    }
+
+    /**
+     * 是否需要创建请求参数对象（存在 Param 类型的参数时）
+     *
+     * @return
+     */
+    public boolean isParamRequired() {
+        return paramRequired;
+    }
+
+    /**
+     * 是否存在按参数名取值的参数（文件上传请求需借助请求参数对象取值）
+     *
+     * @return
+     */
+    public boolean isRequestParamBound() {
+        return requestParamBound;
+    }
+
+    /**
+     * 是否以流式方式读取上传文件（此时由 Action 方法自行读取请求体）
+     *
+     * @return
+     */
+    public boolean isStreamingUpload() {
+        return streamingUpload;
+    }
+
+    /**
+     * 调用Action方法
+     *
+     * @param controllerBean
+     *                          Controller实例
+     * @param args
+     *                          由参数绑定器得到的参数值
+     * @return
+     */
+    public Object invoke(Object controllerBean, Object[] args) {
+
+        Object result;
+        try {
+            result = actionInvoker.invoke(controllerBean, args);
+        } catch (Throwable e) {
+            // 保持与 Method#invoke 相同的异常结构
+            InvocationTargetException ite = new InvocationTargetException(e);
+            LOGGER.error("invoke method failure", ite);
+            throw new RuntimeException(ite);
+        }
+        return result;
+
+    }
+
 }
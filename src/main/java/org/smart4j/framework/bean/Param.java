@@ -1,10 +1,10 @@
 package org.smart4j.framework.bean;
 
-import org.smart4j.framework.util.CastUtil;
 import org.smart4j.framework.util.CollectionUtil;
 import org.smart4j.framework.util.StringUtil;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -17,6 +17,9 @@ public class Param {
     private List<FormParam> formParamList;// 表单参数
     private List<FileParam> fileParamList;// 文件参数
 
+    private Map<String, List<Object>> fieldIndex;// 按字段名索引的表单参数（首次访问时创建）
+    private Map<String, List<FileParam>> fileIndex;// 按字段名索引的文件参数（首次访问时创建）
+
     public Param(List<FormParam> formParamList) {
         this.formParamList = formParamList;
     }
@@ -27,49 +30,100 @@ public class Param {
     }
 
     /**
-     * 获取请求参数映射
+     * 获取表单参数索引（只在首次调用时创建）
      *
      * @return
      */
-    public Map<String, Object> getFieldMap() {
-
-        Map<String, Object> fieldMap = new HashMap<String, Object>();
-        if (CollectionUtil.isNotEmpty(formParamList)) {
-            for (FormParam formParam: formParamList) {
-                String fieldName = formParam.getFieldName();
-                Object fieldValue = formParam.getFieldValue();
-                if (fieldMap.containsKey(fieldName)) {
-                    fieldValue = fieldMap.get(fieldName) + StringUtil.SEPARATOR + fieldValue;
+    private Map<String, List<Object>> getFieldIndex() {
+
+        if (fieldIndex == null) {
+            Map<String, List<Object>> index = new HashMap<String, List<Object>>();
+            if (CollectionUtil.isNotEmpty(formParamList)) {
+                for (FormParam formParam: formParamList) {
+                    String fieldName = formParam.getFieldName();
+                    List<Object> fieldValueList = index.get(fieldName);
+                    if (fieldValueList == null) {
+                        fieldValueList = new ArrayList<Object>(1);
+                        index.put(fieldName, fieldValueList);
+                    }
+                    fieldValueList.add(formParam.getFieldValue());
                 }
-                fieldMap.put(fieldName, fieldValue);
             }
+            fieldIndex = index;
+        }
+        return fieldIndex;
+
+    }
+
+    /**
+     * 获取参数值（多值参数以 StringUtil.SEPARATOR 连接）
+     *
+     * @param name
+     *              参数名
+     * @return
+     */
+    private Object getFieldValue(String name) {
+
+        List<Object> fieldValueList = getFieldIndex().get(name);
+        if (fieldValueList == null) {
+            return null;
+        }
+        if (fieldValueList.size() == 1) {
+            return fieldValueList.get(0);
+        }
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < fieldValueList.size(); i++) {
+            if (i > 0) {
+                sb.append(StringUtil.SEPARATOR);
+            }
+            sb.append(fieldValueList.get(i));
+        }
+        return sb.toString();
+
+    }
+
+    /**
+     * 获取请求参数映射（返回副本，多值参数以 StringUtil.SEPARATOR 连接）
+     *
+     * @return
+     */
+    public Map<String, Object> getFieldMap() {
+
+        Map<String, List<Object>> index = getFieldIndex();
+        Map<String, Object> fieldMap = new HashMap<String, Object>(index.size() * 2);
+        for (String fieldName: index.keySet()) {
+            fieldMap.put(fieldName, getFieldValue(fieldName));
         }
         return fieldMap;
 
     }
 
     /**
-     * 获取上传文件映射
+     * 获取上传文件映射（只在首次调用时创建；映射及其中的列表均不可修改，以免调用方改动缓存的索引）
      *
      * @return
      */
     public Map<String, List<FileParam>> getFileMap() {
 
-        Map<String, List<FileParam>> fileMap = new HashMap<String, List<FileParam>>();
-        if (CollectionUtil.isNotEmpty(fileParamList)) {
-            for (FileParam fileParam: fileParamList) {
-                String fieldName = fileParam.getFieldName();
-                List<FileParam> fileParamList;
-                if (fileMap.containsKey(fieldName)) {
-                    fileParamList = fileMap.get(fieldName);
-                } else {
-                    fileParamList = new ArrayList<FileParam>();
+        if (fileIndex == null) {
+            Map<String, List<FileParam>> index = new HashMap<String, List<FileParam>>();
+            if (CollectionUtil.isNotEmpty(fileParamList)) {
+                for (FileParam fileParam: fileParamList) {
+                    String fieldName = fileParam.getFieldName();
+                    List<FileParam> fileParamList = index.get(fieldName);
+                    if (fileParamList == null) {
+                        fileParamList = new ArrayList<FileParam>(1);
+                        index.put(fieldName, fileParamList);
+                    }
+                    fileParamList.add(fileParam);
+                }
+                for (Map.Entry<String, List<FileParam>> fileEntry: index.entrySet()) {
+                    fileEntry.setValue(Collections.unmodifiableList(fileEntry.getValue()));
                 }
-                fileParamList.add(fileParam);
-                fileMap.put(fieldName, fileParamList);
             }
+            fileIndex = Collections.unmodifiableMap(index);
         }
-        return fileMap;
+        return fileIndex;
 
     }
 
@@ -123,7 +177,29 @@ public class Param {
      */
     public String getString(String name) {
 
-        return CastUtil.castString(getFieldMap().get(name));
+        Object value = getFieldValue(name);
+        return value != null ? value.toString() : "";
+
+    }
+
+    /**
+     * 根据参数名获取多值参数的全部值
+     *
+     * @param name
+     *              参数名
+     * @return 参数不存在时返回空列表
+     */
+    public List<String> getStringList(String name) {
+
+        List<Object> fieldValueList = getFieldIndex().get(name);
+        if (fieldValueList == null) {
+            return Collections.emptyList();
+        }
+        List<String> stringList = new ArrayList<String>(fieldValueList.size());
+        for (Object fieldValue: fieldValueList) {
+            stringList.add(String.valueOf(fieldValue));
+        }
+        return stringList;
 
     }
 
@@ -136,7 +212,15 @@ public class Param {
      */
     public double getDouble(String name) {
 
-        return CastUtil.castDouble(getFieldMap().get(name));
+        String value = getTrimmedString(name);
+        if (value != null) {
+            try {
+                return Double.parseDouble(value);
+            } catch (NumberFormatException e) {
+                // 非法数值返回默认值
+            }
+        }
+        return 0;
 
     }
 
@@ -149,7 +233,15 @@ public class Param {
      */
     public long getLong(String name) {
 
-        return CastUtil.castLong(getFieldMap().get(name));
+        String value = getTrimmedString(name);
+        if (value != null) {
+            try {
+                return Long.parseLong(value);
+            } catch (NumberFormatException e) {
+                // 非法数值返回默认值
+            }
+        }
+        return 0;
 
     }
 
@@ -162,7 +254,15 @@ public class Param {
      */
     public int getInt(String name) {
 
-        return CastUtil.castInt(getFieldMap().get(name));
+        String value = getTrimmedString(name);
+        if (value != null) {
+            try {
+                return Integer.parseInt(value);
+            } catch (NumberFormatException e) {
+                // 非法数值返回默认值
+            }
+        }
+        return 0;
 
     }
 
@@ -175,7 +275,26 @@ public class Param {
      */
     public boolean getBoolean(String name) {
 
-        return CastUtil.castBoolean(getFieldMap().get(name));
+        Object value = getFieldValue(name);
+        return value != null && Boolean.parseBoolean(value.toString());
+
+    }
+
+    /**
+     * 获取参数值，参数不存在或为空白时返回null（与 CastUtil 的判空规则一致）
+     *
+     * @param name
+     *              参数名
+     * @return
+     */
+    private String getTrimmedString(String name) {
+
+        Object value = getFieldValue(name);
+        if (value == null) {
+            return null;
+        }
+        String strValue = value.toString();
+        return StringUtil.isNotEmpty(strValue) ? strValue : null;
 
     }
 
@@ -0,0 +1,65 @@
+package org.smart4j.framework.bean;
+
+import org.apache.commons.fileupload.FileItemIterator;
+import org.apache.commons.fileupload.FileItemStream;
+import org.apache.commons.fileupload.FileUploadException;
+import org.smart4j.framework.util.FileUtil;
+
+import java.io.IOException;
+import java.util.NoSuchElementException;
+
+/**
+ * 流式上传的表单项迭代器（边读取请求体边返回表单项，不在内存或临时文件中缓存上传文件）
+ */
+public class PartIterator {
+
+    private final FileItemIterator fileItemIterator;
+
+    public PartIterator(FileItemIterator fileItemIterator) {
+        this.fileItemIterator = fileItemIterator;
+    }
+
+    /**
+     * 是否还有下一个表单项
+     *
+     * @return
+     * @throws IOException
+     */
+    public boolean hasNext() throws IOException {
+
+        try {
+            return fileItemIterator.hasNext();
+        } catch (FileUploadException e) {
+            throw new IOException(e);
+        }
+
+    }
+
+    /**
+     * 获取下一个表单项（上传文件名为空的文件项也会返回，由调用方决定是否跳过）
+     *
+     * @return
+     * @throws IOException
+     */
+    public FilePart next() throws IOException {
+
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        FileItemStream fileItemStream;
+        try {
+            fileItemStream = fileItemIterator.next();
+        } catch (FileUploadException e) {
+            throw new IOException(e);
+        }
+        String fileName = null;
+        if (!fileItemStream.isFormField()) {
+            fileName = fileItemStream.getName() != null ? FileUtil.getRealFileName(new String(fileItemStream.getName()
+                    .getBytes(), "UTF-8")) : "";
+        }
+        return new FilePart(fileItemStream.getFieldName(), fileName, fileItemStream.getContentType(),
+                fileItemStream.openStream());
+
+    }
+
+}
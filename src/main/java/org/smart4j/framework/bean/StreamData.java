@@ -0,0 +1,108 @@
+package org.smart4j.framework.bean;
+
+import java.util.Iterator;
+import java.util.stream.BaseStream;
+
+/**
+ * 返回流式数据对象（逐条序列化并分块输出，内存占用与数据总量无关）
+ *
+ * 数据源可以延迟求值并使用 DatabaseHelper 的数据库连接：同步返回时在执行 Action 的线程中输出，输出结束后才关闭连接；
+ * 通过 CompletionStage 异步返回时在其它线程中输出，此时数据源不能依赖 Action 线程持有的数据库连接
+ */
+public class StreamData {
+
+    /**
+     * 输出格式
+     */
+    public enum Format {
+
+        JSON_ARRAY,// JSON 数组
+        NDJSON,// 每行一个 JSON 对象
+        SSE// Server-Sent Events
+
+    }
+
+    // 数据迭代器（使用回调写入器时为null）
+    private Iterator<?> iterator;
+
+    // 回调写入器
+    private StreamWriter writer;
+
+    // 输出结束后需关闭的资源（如 Stream）
+    private AutoCloseable closeable;
+
+    // 输出格式
+    private Format format = Format.JSON_ARRAY;
+
+    // 每输出多少条数据刷新一次（SSE 每条都会刷新）
+    private int flushInterval = 100;
+
+    // SSE 事件名称（为null时不输出 event 字段）
+    private String eventName;
+
+    public StreamData(Iterator<?> iterator) {
+        this.iterator = iterator;
+        if (iterator instanceof AutoCloseable) {
+            this.closeable = (AutoCloseable) iterator;
+        }
+    }
+
+    public StreamData(Iterable<?> iterable) {
+        this(iterable.iterator());
+    }
+
+    public StreamData(BaseStream<?, ?> stream) {
+        this.iterator = stream.iterator();
+        this.closeable = stream;
+    }
+
+    public StreamData(StreamWriter writer) {
+        this.writer = writer;
+    }
+
+    public Iterator<?> getIterator() {
+        return iterator;
+    }
+
+    public StreamWriter getWriter() {
+        return writer;
+    }
+
+    public AutoCloseable getCloseable() {
+        return closeable;
+    }
+
+    public Format getFormat() {
+        return format;
+    }
+
+    public StreamData setFormat(Format format) {
+
+        this.format = format;
+        return this;
+
+    }
+
+    public int getFlushInterval() {
+        return flushInterval;
+    }
+
+    public StreamData setFlushInterval(int flushInterval) {
+
+        this.flushInterval = flushInterval > 0 ? flushInterval : 1;
+        return this;
+
+    }
+
+    public String getEventName() {
+        return eventName;
+    }
+
+    public StreamData setEventName(String eventName) {
+
+        this.eventName = eventName;
+        return this;
+
+    }
+
+}
@@ -0,0 +1,42 @@
+package org.smart4j.framework.bean;
+
+import java.io.IOException;
+
+/**
+ * 流式结果的回调写入器（由 Action 逐条写入数据，框架负责序列化与分块输出）
+ */
+public interface StreamWriter {
+
+    /**
+     * 写入数据
+     *
+     * @param sink
+     *              数据输出端
+     * @throws Exception
+     */
+    void write(Sink sink) throws Exception;
+
+    /**
+     * 数据输出端
+     */
+    interface Sink {
+
+        /**
+         * 写入一条数据（按 StreamData 的格式序列化）
+         *
+         * @param item
+         *              数据
+         * @throws IOException
+         */
+        void write(Object item) throws IOException;
+
+        /**
+         * 立即将已写入的数据发送给客户端
+         *
+         * @throws IOException
+         */
+        void flush() throws IOException;
+
+    }
+
+}
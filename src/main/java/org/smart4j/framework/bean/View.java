@@ -14,6 +14,12 @@ public class View {
     // 模型数据
     private Map<String , Object> model;
 
+    // 实体标签
+    private String eTag;
+
+    // 最后修改时间（毫秒，-1 表示未提供）
+    private long lastModified = -1;
+
     public View(String path) {
 
         this.path = path;
@@ -36,4 +42,40 @@ public class View {
         return model;
     }
 
+    public String getETag() {
+        return eTag;
+    }
+
+    /**
+     * 设置实体标签（需配合 HttpCache 注解使用）
+     *
+     * @param eTag
+     *              实体标签
+     * @return
+     */
+    public View setETag(String eTag) {
+
+        this.eTag = eTag;
+        return this;
+
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * 设置最后修改时间（需配合 HttpCache 注解使用）
+     *
+     * @param lastModified
+     *              最后修改时间（毫秒）
+     * @return
+     */
+    public View setLastModified(long lastModified) {
+
+        this.lastModified = lastModified;
+        return this;
+
+    }
+
 }
@@ -0,0 +1,28 @@
+package org.smart4j.framework.binder;
+
+import org.smart4j.framework.bean.FormParam;
+import org.smart4j.framework.bean.Param;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.List;
+
+/**
+ * 参数绑定器（为 Action 方法的某个参数取值，启动时按方法签名创建）
+ */
+public interface ArgumentBinder {
+
+    /**
+     * 获取参数值
+     *
+     * @param request
+     *                  HttpServletRequest
+     * @param pathParamList
+     *                  路径变量列表
+     * @param param
+     *                  请求参数对象（仅在 Action 方法需要或为文件上传请求时创建，否则为null）
+     * @return
+     * @throws Exception
+     */
+    Object bind(HttpServletRequest request, List<FormParam> pathParamList, Param param) throws Exception;
+
+}
@@ -0,0 +1,16 @@
+package org.smart4j.framework.binder;
+
+/**
+ * 参数绑定异常（请求参数无法转换为参数类型或请求体无法反序列化，由 DispatcherServlet 返回400）
+ */
+public class BindException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public BindException(Throwable cause) {
+
+        super(cause);
+
+    }
+
+}
@@ -0,0 +1,100 @@
+package org.smart4j.framework.binder;
+
+import org.smart4j.framework.annotation.Body;
+import org.smart4j.framework.annotation.RequestParam;
+import org.smart4j.framework.bean.Param;
+import org.smart4j.framework.bean.PartIterator;
+import org.smart4j.framework.util.StringUtil;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.Type;
+
+/**
+ * 参数绑定器管理器
+ */
+public class BinderManager {
+
+    /**
+     * 根据 Action 方法签名创建参数绑定器
+     *
+     * @param actionMethod
+     *                      Action方法
+     * @return
+     */
+    public static ArgumentBinder[] createBinders(Method actionMethod) {
+
+        Class<?>[] parameterTypes = actionMethod.getParameterTypes();
+        Type[] genericParameterTypes = actionMethod.getGenericParameterTypes();
+        Annotation[][] parameterAnnotations = actionMethod.getParameterAnnotations();
+        Parameter[] parameters = actionMethod.getParameters();
+        ArgumentBinder[] binders = new ArgumentBinder[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (isAnnotationPresent(parameterAnnotations[i], Body.class)) {// JSON 请求体
+                binders[i] = new BodyBinder(genericParameterTypes[i]);
+            } else if (parameterTypes[i] == Param.class) {// 请求参数对象
+                binders[i] = new ParamBinder();
+            } else if (parameterTypes[i] == PartIterator.class) {// 流式上传
+                binders[i] = new PartIteratorBinder();
+            } else {// 按参数名取值的简单类型参数
+                String name = getParameterName(parameters[i], parameterAnnotations[i]);
+                binders[i] = name != null ? RequestParamBinder.create(name, parameterTypes[i]) : null;
+                if (binders[i] == null) {
+                    throw new RuntimeException("unsupported action parameter " + i + ": " + actionMethod);
+                }
+            }
+        }
+        checkBinders(actionMethod, binders);
+        return binders;
+
+    }
+
+    /**
+     * 检查参数组合：流式上传只能读取一次请求体，不能与请求参数对象或 JSON 请求体同时使用
+     */
+    private static void checkBinders(Method actionMethod, ArgumentBinder[] binders) {
+
+        int streamingCount = 0;
+        boolean bodyRequired = false;
+        for (ArgumentBinder binder: binders) {
+            if (binder instanceof PartIteratorBinder) {
+                streamingCount++;
+            } else if (binder instanceof ParamBinder || binder instanceof BodyBinder) {
+                bodyRequired = true;
+            }
+        }
+        if (streamingCount > 1 || streamingCount == 1 && bodyRequired) {
+            throw new RuntimeException("PartIterator can only be used once and not with Param or @Body: " + actionMethod);
+        }
+
+    }
+
+    /**
+     * 获取参数名（优先使用 @RequestParam 注解，其次使用编译时保留的方法参数名）
+     *
+     * @return 无法获取时返回null
+     */
+    private static String getParameterName(Parameter parameter, Annotation[] annotations) {
+
+        for (Annotation annotation: annotations) {
+            if (annotation instanceof RequestParam && StringUtil.isNotEmpty(((RequestParam) annotation).value())) {
+                return ((RequestParam) annotation).value();
+            }
+        }
+        return parameter.isNamePresent() ? parameter.getName() : null;
+
+    }
+
+    private static boolean isAnnotationPresent(Annotation[] annotations, Class<? extends Annotation> annotationClass) {
+
+        for (Annotation annotation: annotations) {
+            if (annotation.annotationType() == annotationClass) {
+                return true;
+            }
+        }
+        return false;
+
+    }
+
+}
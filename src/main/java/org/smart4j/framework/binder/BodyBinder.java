@@ -0,0 +1,35 @@
+package org.smart4j.framework.binder;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.smart4j.framework.bean.FormParam;
+import org.smart4j.framework.bean.Param;
+import org.smart4j.framework.util.JsonUtil;
+
+import javax.servlet.http.HttpServletRequest;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * JSON 请求体绑定器（直接从输入流反序列化，不生成中间字符串）
+ */
+public class BodyBinder implements ArgumentBinder {
+
+    private final ObjectReader objectReader;
+
+    public BodyBinder(Type bodyType) {
+
+        this.objectReader = JsonUtil.getReader(bodyType);
+
+    }
+
+    public Object bind(HttpServletRequest request, List<FormParam> pathParamList, Param param) throws Exception {
+
+        if (request.getContentLength() == 0) {// 空请求体
+            return null;
+        }
+        // 直接读取（不经 JsonUtil 记录错误日志），格式错误由 DispatcherServlet 作为参数绑定异常返回400
+        return objectReader.readValue(request.getInputStream());
+
+    }
+
+}
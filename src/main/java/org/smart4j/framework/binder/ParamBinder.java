@@ -0,0 +1,20 @@
+package org.smart4j.framework.binder;
+
+import org.smart4j.framework.bean.FormParam;
+import org.smart4j.framework.bean.Param;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.List;
+
+/**
+ * 请求参数对象绑定器
+ */
+public class ParamBinder implements ArgumentBinder {
+
+    public Object bind(HttpServletRequest request, List<FormParam> pathParamList, Param param) {
+
+        return param;
+
+    }
+
+}
@@ -0,0 +1,24 @@
+package org.smart4j.framework.binder;
+
+import org.smart4j.framework.bean.FormParam;
+import org.smart4j.framework.bean.Param;
+import org.smart4j.framework.helper.UploadHelper;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.List;
+
+/**
+ * 流式上传绑定器（非 multipart 请求时为null）
+ */
+public class PartIteratorBinder implements ArgumentBinder {
+
+    public Object bind(HttpServletRequest request, List<FormParam> pathParamList, Param param) throws Exception {
+
+        if (!UploadHelper.isMultipart(request)) {
+            return null;
+        }
+        return UploadHelper.createPartIterator(request);
+
+    }
+
+}
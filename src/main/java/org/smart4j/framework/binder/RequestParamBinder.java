@@ -0,0 +1,295 @@
+package org.smart4j.framework.binder;
+
+import org.smart4j.framework.bean.FormParam;
+import org.smart4j.framework.bean.Param;
+import org.smart4j.framework.util.StringUtil;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 请求参数绑定器（按参数名依次从路径变量、请求参数中取值，并直接转换为参数类型）
+ *
+ * 文件上传请求的表单字段无法通过 HttpServletRequest 获取，此时从请求参数对象中取值
+ */
+public abstract class RequestParamBinder implements ArgumentBinder {
+
+    private final String name;
+
+    protected RequestParamBinder(String name) {
+
+        this.name = name;
+
+    }
+
+    /**
+     * 根据参数类型创建绑定器
+     *
+     * @param name
+     *              参数名
+     * @param type
+     *              参数类型
+     * @return 不支持该类型时返回null
+     */
+    public static RequestParamBinder create(String name, Class<?> type) {
+
+        if (type == String.class) {
+            return new StringBinder(name);
+        } else if (type == int.class || type == Integer.class) {
+            return new IntBinder(name, type.isPrimitive());
+        } else if (type == long.class || type == Long.class) {
+            return new LongBinder(name, type.isPrimitive());
+        } else if (type == double.class || type == Double.class) {
+            return new DoubleBinder(name, type.isPrimitive());
+        } else if (type == boolean.class || type == Boolean.class) {
+            return new BooleanBinder(name, type.isPrimitive());
+        } else if (type == String[].class) {
+            return new StringArrayBinder(name);
+        } else if (type == int[].class) {
+            return new IntArrayBinder(name);
+        } else if (type == long[].class) {
+            return new LongArrayBinder(name);
+        } else if (type == double[].class) {
+            return new DoubleArrayBinder(name);
+        }
+        return null;
+
+    }
+
+    public Object bind(HttpServletRequest request, List<FormParam> pathParamList, Param param) {
+
+        return convert(getValues(request, pathParamList, param));
+
+    }
+
+    /**
+     * 将参数值转换为参数类型
+     *
+     * @param values
+     *              参数值（参数不存在时为null）
+     * @return
+     */
+    protected abstract Object convert(String[] values);
+
+    /**
+     * 获取参数值（路径变量优先）
+     */
+    private String[] getValues(HttpServletRequest request, List<FormParam> pathParamList, Param param) {
+
+        for (FormParam formParam: pathParamList) {
+            if (name.equals(formParam.getFieldName())) {
+                return new String[]{String.valueOf(formParam.getFieldValue())};
+            }
+        }
+        if (param != null) {
+            List<String> valueList = param.getStringList(name);
+            return valueList.isEmpty() ? null : valueList.toArray(new String[valueList.size()]);
+        }
+        return request.getParameterValues(name);
+
+    }
+
+    private static String first(String[] values) {
+
+        return values != null && values.length > 0 && StringUtil.isNotEmpty(values[0]) ? values[0] : null;
+
+    }
+
+    private static class StringBinder extends RequestParamBinder {
+
+        StringBinder(String name) {
+            super(name);
+        }
+
+        @Override
+        protected Object convert(String[] values) {
+            return values != null && values.length > 0 ? values[0] : null;
+        }
+
+    }
+
+    private static class IntBinder extends RequestParamBinder {
+
+        private final boolean primitive;
+
+        IntBinder(String name, boolean primitive) {
+            super(name);
+            this.primitive = primitive;
+        }
+
+        @Override
+        protected Object convert(String[] values) {
+            String value = first(values);
+            if (value != null) {
+                try {
+                    return Integer.parseInt(value);
+                } catch (NumberFormatException e) {
+                    // 非法数值返回默认值
+                }
+            }
+            return primitive ? Integer.valueOf(0) : null;
+        }
+
+    }
+
+    private static class LongBinder extends RequestParamBinder {
+
+        private final boolean primitive;
+
+        LongBinder(String name, boolean primitive) {
+            super(name);
+            this.primitive = primitive;
+        }
+
+        @Override
+        protected Object convert(String[] values) {
+            String value = first(values);
+            if (value != null) {
+                try {
+                    return Long.parseLong(value);
+                } catch (NumberFormatException e) {
+                    // 非法数值返回默认值
+                }
+            }
+            return primitive ? Long.valueOf(0) : null;
+        }
+
+    }
+
+    private static class DoubleBinder extends RequestParamBinder {
+
+        private final boolean primitive;
+
+        DoubleBinder(String name, boolean primitive) {
+            super(name);
+            this.primitive = primitive;
+        }
+
+        @Override
+        protected Object convert(String[] values) {
+            String value = first(values);
+            if (value != null) {
+                try {
+                    return Double.parseDouble(value);
+                } catch (NumberFormatException e) {
+                    // 非法数值返回默认值
+                }
+            }
+            return primitive ? Double.valueOf(0) : null;
+        }
+
+    }
+
+    private static class BooleanBinder extends RequestParamBinder {
+
+        private final boolean primitive;
+
+        BooleanBinder(String name, boolean primitive) {
+            super(name);
+            this.primitive = primitive;
+        }
+
+        @Override
+        protected Object convert(String[] values) {
+            String value = first(values);
+            if (value == null) {
+                return primitive ? Boolean.FALSE : null;
+            }
+            return Boolean.parseBoolean(value);
+        }
+
+    }
+
+    private static class StringArrayBinder extends RequestParamBinder {
+
+        StringArrayBinder(String name) {
+            super(name);
+        }
+
+        @Override
+        protected Object convert(String[] values) {
+            return values != null ? values : new String[0];
+        }
+
+    }
+
+    private static class IntArrayBinder extends RequestParamBinder {
+
+        IntArrayBinder(String name) {
+            super(name);
+        }
+
+        @Override
+        protected Object convert(String[] values) {
+            if (values == null) {
+                return new int[0];
+            }
+            int[] array = new int[values.length];
+            int length = 0;
+            for (String value: values) {
+                try {
+                    array[length] = Integer.parseInt(value);
+                    length++;
+                } catch (NumberFormatException e) {
+                    // 忽略非法数值
+                }
+            }
+            return length == array.length ? array : Arrays.copyOf(array, length);
+        }
+
+    }
+
+    private static class LongArrayBinder extends RequestParamBinder {
+
+        LongArrayBinder(String name) {
+            super(name);
+        }
+
+        @Override
+        protected Object convert(String[] values) {
+            if (values == null) {
+                return new long[0];
+            }
+            long[] array = new long[values.length];
+            int length = 0;
+            for (String value: values) {
+                try {
+                    array[length] = Long.parseLong(value);
+                    length++;
+                } catch (NumberFormatException e) {
+                    // 忽略非法数值
+                }
+            }
+            return length == array.length ? array : Arrays.copyOf(array, length);
+        }
+
+    }
+
+    private static class DoubleArrayBinder extends RequestParamBinder {
+
+        DoubleArrayBinder(String name) {
+            super(name);
+        }
+
+        @Override
+        protected Object convert(String[] values) {
+            if (values == null) {
+                return new double[0];
+            }
+            double[] array = new double[values.length];
+            int length = 0;
+            for (String value: values) {
+                try {
+                    array[length] = Double.parseDouble(value);
+                    length++;
+                } catch (NumberFormatException e) {
+                    // 忽略非法数值
+                }
+            }
+            return length == array.length ? array : Arrays.copyOf(array, length);
+        }
+
+    }
+
+}
@@ -5,11 +5,16 @@ import org.slf4j.LoggerFactory;
 import org.smart4j.framework.annotation.Aspect;
 import org.smart4j.framework.annotation.Service;
 import org.smart4j.framework.proxy.AspectProxy;
+import org.smart4j.framework.proxy.Pointcut;
+import org.smart4j.framework.proxy.PointcutParser;
 import org.smart4j.framework.proxy.Proxy;
 import org.smart4j.framework.proxy.ProxyManager;
 import org.smart4j.framework.proxy.TransactionProxy;
+import org.smart4j.framework.util.StringUtil;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.*;
 
 /**
@@ -21,8 +26,9 @@ public class AopHelper {
 
     static {
         try {
-            Map<Class<?>, Set<Class<?>>> proxyMap = createProxyMap();
-            Map<Class<?>, List<Proxy>> targetMap = createTargetMap(proxyMap);
+            Map<Class<?>, Pointcut> pointcutMap = new HashMap<Class<?>, Pointcut>();
+            Map<Class<?>, Set<Class<?>>> proxyMap = createProxyMap(pointcutMap);
+            Map<Class<?>, List<Proxy>> targetMap = createTargetMap(proxyMap, pointcutMap);
             for (Map.Entry<Class<?>, List<Proxy>> targetEntry: targetMap.entrySet()) {
                 Class<?> targetClass = targetEntry.getKey();
                 List<Proxy> proxyList = targetEntry.getValue();
@@ -37,14 +43,17 @@ public class AopHelper {
     /**
      * 获取代理类及其目标类集合之间的映射关系，一个代理类可对应多个目标类
      *
+     * @param pointcutMap
+     *                  代理类及其切点之间的映射关系
      * @return
      *
      * @throws Exception
      */
-    private static Map<Class<?>, Set<Class<?>>> createProxyMap() throws Exception {
+    private static Map<Class<?>, Set<Class<?>>> createProxyMap(Map<Class<?>, Pointcut> pointcutMap)
+            throws Exception {
 
         Map<Class<?>, Set<Class<?>>> proxyMap = new HashMap<Class<?>, Set<Class<?>>>();
-        addAspectProxy(proxyMap);// 普通切面代理
+        addAspectProxy(proxyMap, pointcutMap);// 普通切面代理
         addTransactionProxy(proxyMap);// 事务代理
         return proxyMap;
 
@@ -55,15 +64,23 @@ public class AopHelper {
      *
      * @param proxyMap
      *                  代理类及其目标类集合之间的映射关系
+     * @param pointcutMap
+     *                  代理类及其切点之间的映射关系
      * @throws Exception
      */
-    private static void addAspectProxy(Map<Class<?>, Set<Class<?>>> proxyMap) throws Exception {
+    private static void addAspectProxy(Map<Class<?>, Set<Class<?>>> proxyMap, Map<Class<?>, Pointcut> pointcutMap)
+            throws Exception {
 
         Set<Class<?>> proxyClassSet = ClassHelper.getClassSetBySuper(AspectProxy.class);
         for (Class<?> proxyClass: proxyClassSet) {
             if (proxyClass.isAnnotationPresent(Aspect.class)) {
                 Aspect aspect = proxyClass.getAnnotation(Aspect.class);
-                Set<Class<?>> targetClassSet = createTargetClassSet(aspect);
+                Pointcut pointcut = null;
+                if (StringUtil.isNotEmpty(aspect.pointcut())) {// 切点表达式只解析一次
+                    pointcut = PointcutParser.parse(aspect.pointcut());
+                    pointcutMap.put(proxyClass, pointcut);
+                }
+                Set<Class<?>> targetClassSet = createTargetClassSet(aspect, pointcut);
                 proxyMap.put(proxyClass, targetClassSet);
             }
         }
@@ -84,37 +101,78 @@ public class AopHelper {
     }
 
     /**
-     * 获取Aspect注解中设置的注解类
+     * 获取Aspect注解中设置的注解类及切点所匹配的目标类
      *
      * @param aspect
      *                  Aspect注解类对象
+     * @param pointcut
+     *                  切点（未设置切点表达式时为null）
      * @return
      *
      * @throws Exception
      */
-    private static Set<Class<?>> createTargetClassSet(Aspect aspect) throws Exception {
+    private static Set<Class<?>> createTargetClassSet(Aspect aspect, Pointcut pointcut) throws Exception {
 
         Set<Class<?>> targetClassSet = new HashSet<Class<?>>();
         Class<? extends Annotation> annotation = aspect.value();
-        if (annotation != null && !annotation.equals(Aspect.class)) {// 该注解类不是Aspect类
+        boolean annotated = annotation != null && !annotation.equals(Aspect.class);
+        if (annotated) {// 该注解类不是Aspect类
             // 调用ClassHelper#getClassSetByAnnotation方法获取相关类，并把这些类放入目标类集合中
             targetClassSet.addAll(ClassHelper.getClassSetByAnnotation(annotation));
         }
+        if (pointcut != null) {// 只保留存在匹配方法的类（未设置注解时从所有Bean类中查找）
+            Set<Class<?>> candidateClassSet = annotated ? targetClassSet : ClassHelper.getBeanClassSet();
+            Set<Class<?>> matchedClassSet = new HashSet<Class<?>>();
+            for (Class<?> cls: candidateClassSet) {
+                if (hasMatchedMethod(pointcut, cls)) {
+                    matchedClassSet.add(cls);
+                }
+            }
+            targetClassSet = matchedClassSet;
+        }
         return targetClassSet;
 
     }
 
+    /**
+     * 目标类中是否存在与切点匹配的方法（包括父类中声明的方法）
+     *
+     * @param pointcut
+     *                  切点
+     * @param cls
+     *                  目标类
+     * @return
+     */
+    private static boolean hasMatchedMethod(Pointcut pointcut, Class<?> cls) {
+
+        if (!pointcut.matches(cls)) {
+            return false;
+        }
+        for (Class<?> current = cls; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Method method: current.getDeclaredMethods()) {
+                int modifiers = method.getModifiers();
+                if (!Modifier.isStatic(modifiers) && !Modifier.isPrivate(modifiers) && pointcut.matches(cls, method)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+
+    }
+
     /**
      * 分析目标类与代理对象列表之间的映射关系
      *
      * @param proxyMap
      *                  代理类及其目标类集合之间的映射关系
+     * @param pointcutMap
+     *                  代理类及其切点之间的映射关系
      * @return
      *
      * @throws Exception
      */
-    private static Map<Class<?>, List<Proxy>> createTargetMap(Map<Class<?>, Set<Class<?>>> proxyMap)
-            throws Exception {
+    private static Map<Class<?>, List<Proxy>> createTargetMap(Map<Class<?>, Set<Class<?>>> proxyMap,
+                                                              Map<Class<?>, Pointcut> pointcutMap) throws Exception {
 
         Map<Class<?>, List<Proxy>> targetMap = new HashMap<Class<?>, List<Proxy>>();
         for (Map.Entry<Class<?>, Set<Class<?>>> proxyEntry: proxyMap.entrySet()) {
@@ -122,6 +180,9 @@ public class AopHelper {
             Set<Class<?>> targetClassSet = proxyEntry.getValue();
             for (Class<?> targetClass: targetClassSet) {
                 Proxy proxy = (Proxy) proxyClass.newInstance();
+                if (pointcutMap.containsKey(proxyClass)) {
+                    ((AspectProxy) proxy).setPointcut(pointcutMap.get(proxyClass));
+                }
                 if (targetMap.containsKey(targetClass)) {
                     targetMap.get(targetClass).add(proxy);
                 } else {
@@ -0,0 +1,581 @@
+package org.smart4j.framework.helper;
+
+import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.smart4j.framework.util.CodecUtil;
+
+import javax.servlet.ServletContext;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.MessageDigest;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 静态资源助手类
+ *
+ * 资源首次访问时读入内存（较大的文件分段使用内存映射）并计算 ETag，之后的请求只定期检查文件的修改时间；
+ * 缓存按总大小限制，超出时淘汰最久未访问的资源；
+ * 支持预压缩的 .br/.gz 文件、Range 请求、条件 GET，以及带 ?v=指纹 的长期缓存
+ */
+public final class AssetHelper {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AssetHelper.class);
+
+    private static final boolean ENABLED = ConfigHelper.isAppAssetHandler();
+    private static final String ASSET_PATH = ConfigHelper.getAppAssetPath();
+    private static final long MMAP_THRESHOLD = ConfigHelper.getAppAssetMmapThreshold() * 1024L;
+
+    // 带指纹的资源内容不会变化，可长期缓存；其它请求每次都需重新验证
+    private static final String IMMUTABLE_CACHE_CONTROL
+            = "public, max-age=" + ConfigHelper.getAppAssetMaxAge() + ", immutable";
+    private static final String REVALIDATE_CACHE_CONTROL = "no-cache";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // 内存映射的分段大小（单个 ByteBuffer 最大只能表示 2GB）
+    private static final long SEGMENT_SIZE = 1L << 30;
+
+    // 缓存总大小上限
+    private static final long CACHE_SIZE = ConfigHelper.getAppAssetCacheSize() * 1024L;
+
+    // 检查文件修改时间的间隔（毫秒）
+    private static final long CHECK_INTERVAL = 1000;
+
+    // 已加载的静态资源（键为请求路径）
+    private static final ConcurrentMap<String, Asset> ASSET_MAP = new ConcurrentHashMap<String, Asset>();
+
+    // 放入与移除缓存的锁（命中时不加锁）
+    private static final Object LOCK = new Object();
+
+    // 已缓存资源的总大小（需持有 LOCK）
+    private static long cachedBytes;
+
+    private static ServletContext servletContext;
+
+    /**
+     * 初始化
+     *
+     * @param servletContext
+     *                          ServletContext对象
+     */
+    public static void init(ServletContext servletContext) {
+
+        AssetHelper.servletContext = servletContext;
+
+    }
+
+    /**
+     * 是否由框架处理静态资源
+     *
+     * @return
+     */
+    public static boolean isEnabled() {
+
+        return ENABLED;
+
+    }
+
+    /**
+     * 判断请求是否为静态资源请求
+     *
+     * @param requestPath
+     *                  请求路径
+     * @return
+     */
+    public static boolean isAsset(String requestPath) {
+
+        return ENABLED && requestPath.startsWith(ASSET_PATH);
+
+    }
+
+    /**
+     * 获取带指纹的资源地址（如 /asset/js/app.js?v=1a2b3c4d），资源不存在时原样返回
+     *
+     * @param path
+     *                  资源路径
+     * @return
+     */
+    public static String getAssetUrl(String path) {
+
+        Asset asset = getAsset(path);
+        return asset != null ? path + "?v=" + asset.fingerprint : path;
+
+    }
+
+    /**
+     * 清空已加载的静态资源（资源文件更新后调用）
+     */
+    public static void clear() {
+
+        synchronized (LOCK) {
+            ASSET_MAP.clear();
+            cachedBytes = 0;
+        }
+
+    }
+
+    /**
+     * 处理静态资源请求
+     *
+     * @param requestPath
+     *                  请求路径
+     * @param request
+     *                  HttpServletRequest
+     * @param response
+     *                  HttpServletResponse
+     * @throws IOException
+     */
+    public static void handle(String requestPath, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+
+        if (!HttpCacheHelper.isConditional(request)) {// 仅支持 GET 与 HEAD 请求
+            response.setHeader("Allow", "GET, HEAD");
+            response.sendError(HttpServletResponse.SC_METHOD_NOT_ALLOWED);
+            return;
+        }
+        Asset asset = getAsset(requestPath);
+        if (asset == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        // 选择客户端可接受的预压缩文件
+        Asset variant = asset;
+        if (asset.brotli != null || asset.gzip != null) {
+            response.setHeader("Vary", "Accept-Encoding");
+            String acceptEncoding = request.getHeader("Accept-Encoding");
+            if (asset.brotli != null && acceptsEncoding(acceptEncoding, "br")) {
+                variant = asset.brotli;
+                response.setHeader("Content-Encoding", "br");
+            } else if (asset.gzip != null && acceptsEncoding(acceptEncoding, "gzip")) {
+                variant = asset.gzip;
+                response.setHeader("Content-Encoding", "gzip");
+            }
+        }
+
+        String cacheControl = asset.fingerprint.equals(request.getParameter("v"))
+                ? IMMUTABLE_CACHE_CONTROL
+                : REVALIDATE_CACHE_CONTROL;
+        if (HttpCacheHelper.checkNotModified(cacheControl, variant.eTag, asset.lastModified, request, response)) {
+            return;
+        }
+        response.setContentType(asset.contentType);
+
+        // 仅对未压缩的内容处理单个 Range，多个 Range 时返回完整内容
+        long length = variant.length;
+        long start = 0;
+        long count = length;
+        if (variant == asset) {
+            response.setHeader("Accept-Ranges", "bytes");
+            String range = request.getHeader("Range");
+            if (range != null && matchIfRange(request, asset)) {
+                long[] byteRange = parseRange(range, length);
+                if (byteRange != null) {
+                    if (byteRange.length == 0) {
+                        response.setHeader("Content-Range", "bytes */" + length);
+                        response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                        return;
+                    }
+                    start = byteRange[0];
+                    count = byteRange[1] - byteRange[0] + 1;
+                    response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                    response.setHeader("Content-Range", "bytes " + byteRange[0] + "-" + byteRange[1] + "/" + length);
+                }
+            }
+        }
+        response.setContentLengthLong(count);
+        if (!"HEAD".equals(request.getMethod())) {
+            writeContent(variant.contents, start, count, response.getOutputStream());
+        }
+
+    }
+
+    /**
+     * 获取静态资源（首次访问或文件已修改时加载）
+     */
+    private static Asset getAsset(String path) {
+
+        Asset asset = ASSET_MAP.get(path);
+        if (asset != null) {
+            if (!asset.checkModified(System.currentTimeMillis())) {
+                return asset;
+            }
+            synchronized (LOCK) {// 文件已修改或删除，重新加载
+                if (ASSET_MAP.remove(path, asset)) {
+                    cachedBytes -= asset.size();
+                }
+            }
+        }
+        if (!isSafePath(path)) {
+            return null;
+        }
+        asset = loadAsset(path);
+        return asset != null ? cacheAsset(path, asset) : null;
+
+    }
+
+    /**
+     * 放入缓存，超出总大小上限时淘汰最久未访问的资源（大于上限的资源不缓存）
+     */
+    private static Asset cacheAsset(String path, Asset asset) {
+
+        long size = asset.size();
+        if (size > CACHE_SIZE) {
+            return asset;
+        }
+        synchronized (LOCK) {
+            Asset existing = ASSET_MAP.putIfAbsent(path, asset);
+            if (existing != null) {
+                return existing;
+            }
+            cachedBytes += size;
+            while (cachedBytes > CACHE_SIZE) {
+                Map.Entry<String, Asset> eldest = null;
+                for (Map.Entry<String, Asset> assetEntry: ASSET_MAP.entrySet()) {
+                    if (assetEntry.getValue() != asset
+                            && (eldest == null || assetEntry.getValue().checkTime < eldest.getValue().checkTime)) {
+                        eldest = assetEntry;
+                    }
+                }
+                if (eldest == null) {
+                    break;
+                }
+                ASSET_MAP.remove(eldest.getKey());
+                cachedBytes -= eldest.getValue().size();
+            }
+        }
+        return asset;
+
+    }
+
+    private static boolean isSafePath(String path) {
+
+        return path.startsWith(ASSET_PATH) && !path.endsWith("/")
+                && !path.contains("..") && !path.contains("\\") && !path.contains("\0");
+
+    }
+
+    /**
+     * 加载静态资源及其预压缩文件
+     */
+    private static Asset loadAsset(String path) {
+
+        Asset asset;
+        try {
+            File file = getFile(path);
+            long fileModified = file != null ? file.lastModified() : 0;// 先于读取内容获取，读取期间修改时下次检查会重新加载
+            ByteBuffer[] contents = readContent(path);
+            if (contents == null) {
+                return null;
+            }
+            String contentType = servletContext.getMimeType(path);
+            if (contentType == null) {
+                contentType = "application/octet-stream";
+            }
+            String hash = digest(contents);
+            long lastModified = fileModified > 0 ? fileModified : -1;
+            asset = new Asset(contentType, contents, "\"" + hash + "\"", lastModified, hash.substring(0, 8),
+                    file, fileModified);
+
+            asset.brotli = loadVariant(path + ".br", "\"" + hash + "-br\"", asset);
+            asset.gzip = loadVariant(path + ".gz", "\"" + hash + "-gz\"", asset);
+        } catch (Exception e) {
+            LOGGER.error("load asset failure", e);
+            throw new RuntimeException(e);
+        }
+        return asset;
+
+    }
+
+    /**
+     * 加载预压缩文件
+     *
+     * @return 预压缩文件不存在时返回null
+     */
+    private static Asset loadVariant(String path, String eTag, Asset asset) throws IOException {
+
+        File file = getFile(path);
+        long fileModified = file != null ? file.lastModified() : 0;
+        ByteBuffer[] contents = readContent(path);
+        if (contents == null) {
+            return null;
+        }
+        return new Asset(asset.contentType, contents, eTag, asset.lastModified, asset.fingerprint, file, fileModified);
+
+    }
+
+    /**
+     * 获取资源对应的文件
+     *
+     * @return 资源不在文件系统中时返回null
+     */
+    private static File getFile(String path) {
+
+        String realPath = servletContext.getRealPath(path);
+        return realPath != null ? new File(realPath) : null;
+
+    }
+
+    /**
+     * 读取资源内容（较大的文件按 SEGMENT_SIZE 分段使用内存映射，无法获取文件时从资源流读取）
+     *
+     * @return 资源不存在时返回null
+     */
+    private static ByteBuffer[] readContent(String path) throws IOException {
+
+        File file = getFile(path);
+        if (file != null) {
+            if (!file.isFile()) {
+                return null;
+            }
+            RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+            try {
+                FileChannel channel = randomAccessFile.getChannel();
+                long size = channel.size();
+                if (size >= MMAP_THRESHOLD || size > SEGMENT_SIZE) {
+                    ByteBuffer[] contents = new ByteBuffer[(int) Math.max(1, (size + SEGMENT_SIZE - 1) / SEGMENT_SIZE)];
+                    for (int i = 0; i < contents.length; i++) {
+                        long position = i * SEGMENT_SIZE;
+                        contents[i] = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                                Math.min(SEGMENT_SIZE, size - position));
+                    }
+                    return contents;
+                }
+                ByteBuffer content = ByteBuffer.allocate((int) size);
+                while (content.hasRemaining() && channel.read(content) != -1) {
+                    // 读满为止
+                }
+                content.flip();
+                return new ByteBuffer[]{content};
+            } finally {
+                randomAccessFile.close();
+            }
+        }
+        InputStream inputStream = servletContext.getResourceAsStream(path);
+        if (inputStream == null) {
+            return null;
+        }
+        try {
+            return new ByteBuffer[]{ByteBuffer.wrap(IOUtils.toByteArray(inputStream))};
+        } finally {
+            inputStream.close();
+        }
+
+    }
+
+    private static String digest(ByteBuffer[] contents) throws Exception {
+
+        MessageDigest messageDigest = MessageDigest.getInstance("MD5");
+        for (ByteBuffer content: contents) {
+            messageDigest.update(content.duplicate());
+        }
+        return CodecUtil.toHex(messageDigest.digest());
+
+    }
+
+    /**
+     * 判断 Accept-Encoding 是否接受指定编码（q=0 表示不接受）
+     */
+    private static boolean acceptsEncoding(String acceptEncoding, String encoding) {
+
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String token: acceptEncoding.split(",")) {
+            String[] parts = token.trim().split(";");
+            if (encoding.equalsIgnoreCase(parts[0].trim())) {
+                for (int i = 1; i < parts.length; i++) {
+                    String parameter = parts[i].trim();
+                    if (parameter.startsWith("q=") && parameter.substring(2).matches("0(\\.0*)?")) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+
+    }
+
+    /**
+     * 判断 If-Range 是否与当前资源匹配（不匹配时忽略 Range 并返回完整内容）
+     */
+    private static boolean matchIfRange(HttpServletRequest request, Asset asset) {
+
+        String ifRange = request.getHeader("If-Range");
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"")) {// 强 ETag
+            return ifRange.equals(asset.eTag);
+        }
+        if (ifRange.startsWith("W/")) {// 弱 ETag 不能用于 Range
+            return false;
+        }
+        long ifRangeDate;
+        try {
+            ifRangeDate = request.getDateHeader("If-Range");
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return asset.lastModified >= 0 && asset.lastModified / 1000 == ifRangeDate / 1000;
+
+    }
+
+    /**
+     * 解析单个 Range（bytes=start-end、bytes=start- 或 bytes=-suffix）
+     *
+     * @return 格式不支持时返回null，无法满足时返回空数组，否则返回首尾位置
+     */
+    private static long[] parseRange(String range, long length) {
+
+        if (!range.startsWith("bytes=") || range.indexOf(',') >= 0) {
+            return null;
+        }
+        String spec = range.substring(6).trim();
+        int index = spec.indexOf('-');
+        if (index < 0) {
+            return null;
+        }
+        long start;
+        long end;
+        try {
+            if (index == 0) {// 最后若干字节
+                long suffix = Long.parseLong(spec.substring(1));
+                if (suffix <= 0) {
+                    return new long[0];
+                }
+                start = Math.max(0, length - suffix);
+                end = length - 1;
+            } else {
+                start = Long.parseLong(spec.substring(0, index));
+                String endSpec = spec.substring(index + 1);
+                end = endSpec.isEmpty() ? Long.MAX_VALUE : Long.parseLong(endSpec);
+                if (end < start) {
+                    return null;
+                }
+                end = Math.min(end, length - 1);
+            }
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        if (start >= length) {
+            return new long[0];
+        }
+        return new long[]{start, end};
+
+    }
+
+    /**
+     * 输出资源内容（起止位置可跨越多个分段）
+     */
+    private static void writeContent(ByteBuffer[] contents, long start, long count, ServletOutputStream outputStream)
+            throws IOException {
+
+        byte[] buffer = null;
+        long offset = 0;// 当前分段在资源中的起始位置
+        for (ByteBuffer content: contents) {
+            int segmentLength = content.limit();
+            if (count <= 0) {
+                break;
+            }
+            if (start >= offset + segmentLength) {
+                offset += segmentLength;
+                continue;
+            }
+            int position = (int) (start - offset);
+            int length = (int) Math.min(count, segmentLength - position);
+            if (content.hasArray()) {
+                outputStream.write(content.array(), content.arrayOffset() + position, length);
+            } else {
+                ByteBuffer source = content.duplicate();
+                source.position(position);
+                if (buffer == null) {
+                    buffer = new byte[(int) Math.min(BUFFER_SIZE, count)];
+                }
+                int remaining = length;
+                while (remaining > 0) {
+                    int chunk = Math.min(buffer.length, remaining);
+                    source.get(buffer, 0, chunk);
+                    outputStream.write(buffer, 0, chunk);
+                    remaining -= chunk;
+                }
+            }
+            start += length;
+            count -= length;
+            offset += segmentLength;
+        }
+
+    }
+
+    /**
+     * 已加载的静态资源
+     */
+    private static final class Asset {
+
+        private final String contentType;// 资源类型
+        private final ByteBuffer[] contents;// 资源内容（按顺序分段，只读使用，输出时复制视图）
+        private final long length;// 资源大小
+        private final String eTag;// 实体标签（内容的 MD5）
+        private final long lastModified;// 最后修改时间（-1 表示未知）
+        private final String fingerprint;// 资源指纹
+        private final File file;// 资源文件（不在文件系统中时为null）
+        private final long fileModified;// 加载时文件的修改时间
+
+        private Asset brotli;// Brotli 预压缩内容
+        private Asset gzip;// Gzip 预压缩内容
+
+        private volatile long checkTime = System.currentTimeMillis();// 最近一次检查修改时间的时间（兼作访问时间）
+
+        Asset(String contentType, ByteBuffer[] contents, String eTag, long lastModified, String fingerprint,
+              File file, long fileModified) {
+            this.contentType = contentType;
+            this.contents = contents;
+            long length = 0;
+            for (ByteBuffer content: contents) {
+                length += content.limit();
+            }
+            this.length = length;
+            this.eTag = eTag;
+            this.lastModified = lastModified;
+            this.fingerprint = fingerprint;
+            this.file = file;
+            this.fileModified = fileModified;
+        }
+
+        /**
+         * 资源及其预压缩内容的总大小
+         */
+        long size() {
+            return length + (brotli != null ? brotli.length : 0) + (gzip != null ? gzip.length : 0);
+        }
+
+        /**
+         * 距上次检查超过 CHECK_INTERVAL 时检查文件是否已修改或删除
+         */
+        boolean checkModified(long now) {
+            if (now - checkTime < CHECK_INTERVAL) {
+                return false;
+            }
+            checkTime = now;
+            return isFileModified() || brotli != null && brotli.isFileModified()
+                    || gzip != null && gzip.isFileModified();
+        }
+
+        private boolean isFileModified() {
+            return file != null && file.lastModified() != fileModified;
+        }
+
+    }
+
+}
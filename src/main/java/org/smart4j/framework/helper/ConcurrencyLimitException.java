@@ -0,0 +1,22 @@
+package org.smart4j.framework.helper;
+
+/**
+ * 超出并发上限（并发限制器或Action线程池拒绝执行，由 DispatcherServlet 返回503）
+ */
+public class ConcurrencyLimitException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ConcurrencyLimitException(String message) {
+
+        super(message);
+
+    }
+
+    public ConcurrencyLimitException(String message, Throwable cause) {
+
+        super(message, cause);
+
+    }
+
+}
@@ -0,0 +1,218 @@
+package org.smart4j.framework.helper;
+
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 自适应并发限制器（TCP Vegas 算法）
+ *
+ * 根据每次调用的耗时与观测到的最小耗时估算排队的请求数：排队较少时提高并发上限，排队较多时降低并发上限。
+ * 状态均使用原子变量维护，获取与释放不加锁；超出上限的请求在有界队列中短暂等待，队列已满或等待超时则拒绝
+ */
+public final class ConcurrencyLimiter {
+
+    // 排队请求数低于 ALPHA * log10(limit) 时提高上限，高于 BETA * log10(limit) 时降低上限
+    private static final int ALPHA = 3;
+    private static final int BETA = 6;
+
+    // 最小耗时的采样窗口（每个窗口结束时以窗口内的最小耗时作为新的基准，以适应基准耗时的变化）
+    private static final int PROBE_INTERVAL = 1000;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final int queueSize;
+    private final long queueTimeoutNanos;
+
+    // 当前并发上限（double 的位表示，便于 CAS 更新）
+    private final AtomicLong limitBits;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong minRtt = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong windowMinRtt = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong sampleCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    // 等待中的线程
+    private final AtomicInteger waitingCount = new AtomicInteger();
+    private final Queue<Thread> waiterQueue = new ConcurrentLinkedQueue<Thread>();
+
+    public ConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, int queueSize, int queueTimeout) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.queueSize = queueSize;
+        this.queueTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(queueTimeout);
+        double limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+        this.limitBits = new AtomicLong(Double.doubleToLongBits(limit));
+    }
+
+    /**
+     * 获取执行许可（超出上限时在队列中等待）
+     *
+     * @return 是否获得许可，获得时调用方必须在结束后调用 {@link #release}
+     */
+    public boolean acquire() {
+
+        if (tryAcquire()) {
+            return true;
+        }
+        if (queueSize <= 0) {
+            rejectedCount.incrementAndGet();
+            return false;
+        }
+        if (waitingCount.incrementAndGet() > queueSize) {// 队列已满
+            waitingCount.decrementAndGet();
+            rejectedCount.incrementAndGet();
+            return false;
+        }
+        Thread current = Thread.currentThread();
+        waiterQueue.add(current);
+        try {
+            long deadline = System.nanoTime() + queueTimeoutNanos;
+            while (!tryAcquire()) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0 || current.isInterrupted()) {
+                    rejectedCount.incrementAndGet();
+                    return false;
+                }
+                LockSupport.parkNanos(this, remaining);
+            }
+            return true;
+        } finally {
+            waiterQueue.remove(current);
+            waitingCount.decrementAndGet();
+        }
+
+    }
+
+    /**
+     * 释放执行许可，并根据本次耗时调整并发上限
+     *
+     * @param startTime
+     *                  获得许可的时间（System.nanoTime()）
+     */
+    public void release(long startTime) {
+
+        int currentInFlight = inFlight.getAndDecrement();
+        update(System.nanoTime() - startTime, currentInFlight);
+        // 上限提高时可能空出多个许可，按空余许可数唤醒等待中的线程（至少唤醒一个）
+        int permits = Math.max(1, getLimit() - inFlight.get());
+        Iterator<Thread> iterator = waiterQueue.iterator();
+        while (permits > 0 && iterator.hasNext()) {
+            LockSupport.unpark(iterator.next());
+            permits--;
+        }
+
+    }
+
+    /**
+     * 获取当前并发上限
+     *
+     * @return
+     */
+    public int getLimit() {
+
+        return (int) Double.longBitsToDouble(limitBits.get());
+
+    }
+
+    /**
+     * 获取正在执行的请求数
+     *
+     * @return
+     */
+    public int getInFlight() {
+
+        return inFlight.get();
+
+    }
+
+    /**
+     * 获取正在等待的请求数
+     *
+     * @return
+     */
+    public int getWaitingCount() {
+
+        return waitingCount.get();
+
+    }
+
+    /**
+     * 获取被拒绝的请求数
+     *
+     * @return
+     */
+    public long getRejectedCount() {
+
+        return rejectedCount.get();
+
+    }
+
+    private boolean tryAcquire() {
+
+        for (;;) {
+            int current = inFlight.get();
+            if (current >= getLimit()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+
+    }
+
+    /**
+     * 根据耗时调整并发上限
+     */
+    private void update(long rtt, int currentInFlight) {
+
+        if (rtt <= 0) {
+            return;
+        }
+        // 更新最小耗时（按窗口滚动）
+        updateMin(minRtt, rtt);
+        updateMin(windowMinRtt, rtt);
+        if (sampleCount.incrementAndGet() % PROBE_INTERVAL == 0) {
+            minRtt.set(windowMinRtt.getAndSet(Long.MAX_VALUE));
+        }
+        long min = minRtt.get();
+        for (;;) {
+            long bits = limitBits.get();
+            double limit = Double.longBitsToDouble(bits);
+            double queue = limit * (1 - (double) min / rtt);
+            double step = Math.max(1, Math.log10(limit));
+            double newLimit;
+            if (queue < ALPHA * step) {
+                if (currentInFlight * 2 < limit) {// 并发远低于上限时耗时不能反映容量，不提高上限
+                    return;
+                }
+                newLimit = limit + step;
+            } else if (queue > BETA * step) {
+                newLimit = limit - step;
+            } else {
+                return;
+            }
+            newLimit = Math.min(maxLimit, Math.max(minLimit, newLimit));
+            if (newLimit == limit || limitBits.compareAndSet(bits, Double.doubleToLongBits(newLimit))) {
+                return;
+            }
+        }
+
+    }
+
+    private static void updateMin(AtomicLong value, long rtt) {
+
+        long min;
+        while (rtt < (min = value.get()) && !value.compareAndSet(min, rtt)) {
+            // 重试
+        }
+
+    }
+
+}
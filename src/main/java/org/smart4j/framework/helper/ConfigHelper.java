@@ -56,6 +56,50 @@ public final class ConfigHelper {
 
     }
 
+    /**
+     * 获取从库JDBC URL（多个从库以逗号分隔，未配置时只读事务也在主库上执行）
+     *
+     * @return
+     */
+    public static String getJdbcReplicaUrls() {
+
+        return PropsUtil.getString(CONFIG_PROPS, ConfigConstant.JDBC_REPLICA_URLS);
+
+    }
+
+    /**
+     * 获取从库JDBC用户名（默认与主库相同）
+     *
+     * @return
+     */
+    public static String getJdbcReplicaUsername() {
+
+        return PropsUtil.getString(CONFIG_PROPS, ConfigConstant.JDBC_REPLICA_USERNAME, getJdbcUsername());
+
+    }
+
+    /**
+     * 获取从库JDBC密码（默认与主库相同）
+     *
+     * @return
+     */
+    public static String getJdbcReplicaPassword() {
+
+        return PropsUtil.getString(CONFIG_PROPS, ConfigConstant.JDBC_REPLICA_PASSWORD, getJdbcPassword());
+
+    }
+
+    /**
+     * 获取从库负载均衡策略（round_robin：轮询，least_connections：最少活动连接，默认为round_robin）
+     *
+     * @return
+     */
+    public static String getJdbcReplicaBalance() {
+
+        return PropsUtil.getString(CONFIG_PROPS, ConfigConstant.JDBC_REPLICA_BALANCE, "round_robin");
+
+    }
+
     /**
      * 获取应用基础包名
      *
@@ -89,10 +133,296 @@ public final class ConfigHelper {
 
     }
 
+    /**
+     * 获取视图渲染器（jsp、template 或 ViewRenderer 实现类的类名）
+     *
+     * @return
+     */
+    public static String getAppViewRenderer() {
+
+        return PropsUtil.getString(CONFIG_PROPS, ConfigConstant.APP_VIEW_RENDERER, "jsp");
+
+    }
+
+    /**
+     * 获取模板视图的基础路径
+     *
+     * @return
+     */
+    public static String getAppTemplatePath() {
+
+        return PropsUtil.getString(CONFIG_PROPS, ConfigConstant.APP_TEMPLATE_PATH, "/WEB-INF/template/");
+
+    }
+
+    /**
+     * 是否由框架处理静态资源（否则交给应用服务器的默认Servlet）
+     *
+     * @return
+     */
+    public static boolean isAppAssetHandler() {
+
+        return PropsUtil.getBoolean(CONFIG_PROPS, ConfigConstant.APP_ASSET_HANDLER, false);
+
+    }
+
+    /**
+     * 获取静态资源使用内存映射的大小下限（单位：KB，更小的文件直接读入内存）
+     *
+     * @return
+     */
+    public static int getAppAssetMmapThreshold() {
+
+        return PropsUtil.getInt(CONFIG_PROPS, ConfigConstant.APP_ASSET_MMAP_THRESHOLD, 256);
+
+    }
+
+    /**
+     * 获取带指纹的静态资源的缓存时间（单位：秒）
+     *
+     * @return
+     */
+    public static int getAppAssetMaxAge() {
+
+        return PropsUtil.getInt(CONFIG_PROPS, ConfigConstant.APP_ASSET_MAX_AGE, 31536000);
+
+    }
+
+    /**
+     * 获取静态资源缓存的总大小上限（单位：KB，包括内存映射的文件，超出时淘汰最久未访问的资源）
+     *
+     * @return
+     */
+    public static int getAppAssetCacheSize() {
+
+        return PropsUtil.getInt(CONFIG_PROPS, ConfigConstant.APP_ASSET_CACHE_SIZE, 256 * 1024);
+
+    }
+
     public static int getAppUploadLimit() {
 
         return PropsUtil.getInt(CONFIG_PROPS, ConfigConstant.APP_UPLOAD_LIMIT, 10);
 
     }
 
+    /**
+     * 获取上传文件在内存中缓存的大小上限（单位：KB，超出后写入临时文件）
+     *
+     * @return
+     */
+    public static int getAppUploadThreshold() {
+
+        return PropsUtil.getInt(CONFIG_PROPS, ConfigConstant.APP_UPLOAD_THRESHOLD, 10);
+
+    }
+
+    /**
+     * 获取上传文件的临时目录（为空时使用应用服务器的临时目录）
+     *
+     * @return
+     */
+    public static String getAppUploadTempDir() {
+
+        return PropsUtil.getString(CONFIG_PROPS, ConfigConstant.APP_UPLOAD_TEMP_DIR);
+
+    }
+
+    /**
+     * 获取批量保存上传文件的并行线程数（0 表示逐个保存）
+     *
+     * @return
+     */
+    public static int getAppUploadThreads() {
+
+        return PropsUtil.getInt(CONFIG_PROPS, ConfigConstant.APP_UPLOAD_THREADS, 4);
+
+    }
+
+    /**
+     * 是否先写入临时文件，完成后再重命名为目标文件（避免读到未写完的文件）
+     *
+     * @return
+     */
+    public static boolean isAppUploadAtomic() {
+
+        return PropsUtil.getBoolean(CONFIG_PROPS, ConfigConstant.APP_UPLOAD_ATOMIC, false);
+
+    }
+
+    /**
+     * 获取表单请求体大小上限（单位：KB，0 表示不限制）
+     *
+     * @return
+     */
+    public static int getAppFormLimit() {
+
+        return PropsUtil.getInt(CONFIG_PROPS, ConfigConstant.APP_FORM_LIMIT, 2048);
+
+    }
+
+    /**
+     * 获取异步Action的超时时间（单位：毫秒）
+     *
+     * @return
+     */
+    public static int getAppAsyncTimeout() {
+
+        return PropsUtil.getInt(CONFIG_PROPS, ConfigConstant.APP_ASYNC_TIMEOUT, 30000);
+
+    }
+
+    /**
+     * 获取异步Action超时时返回的HTTP状态码
+     *
+     * @return
+     */
+    public static int getAppAsyncTimeoutStatus() {
+
+        return PropsUtil.getInt(CONFIG_PROPS, ConfigConstant.APP_ASYNC_TIMEOUT_STATUS, 503);
+
+    }
+
+    /**
+     * 获取异步Action执行失败时返回的HTTP状态码
+     *
+     * @return
+     */
+    public static int getAppAsyncErrorStatus() {
+
+        return PropsUtil.getInt(CONFIG_PROPS, ConfigConstant.APP_ASYNC_ERROR_STATUS, 500);
+
+    }
+
+    /**
+     * 获取Action执行方式（container：容器线程；virtual：虚拟线程）
+     *
+     * @return
+     */
+    public static String getAppExecutor() {
+
+        return PropsUtil.getString(CONFIG_PROPS, ConfigConstant.APP_EXECUTOR, "container");
+
+    }
+
+    /**
+     * 获取不支持虚拟线程时所用平台线程池的大小
+     *
+     * @return
+     */
+    public static int getAppExecutorThreads() {
+
+        return PropsUtil.getInt(CONFIG_PROPS, ConfigConstant.APP_EXECUTOR_THREADS, 200);
+
+    }
+
+    /**
+     * 获取响应缓存的最大条目数
+     *
+     * @return
+     */
+    public static int getAppResponseCacheSize() {
+
+        return PropsUtil.getInt(CONFIG_PROPS, ConfigConstant.APP_RESPONSE_CACHE_SIZE, 1000);
+
+    }
+
+    /**
+     * 获取等待其它线程计算缓存响应的最长时间（单位：毫秒，超时后自行调用Action）
+     *
+     * @return
+     */
+    public static int getAppResponseCacheWaitTimeout() {
+
+        return PropsUtil.getInt(CONFIG_PROPS, ConfigConstant.APP_RESPONSE_CACHE_WAIT_TIMEOUT, 3000);
+
+    }
+
+    /**
+     * 是否对所有 Action 启用自适应并发限制
+     *
+     * @return
+     */
+    public static boolean isAppLimiter() {
+
+        return PropsUtil.getBoolean(CONFIG_PROPS, ConfigConstant.APP_LIMITER, false);
+
+    }
+
+    /**
+     * 获取初始并发上限
+     *
+     * @return
+     */
+    public static int getAppLimiterInitialLimit() {
+
+        return PropsUtil.getInt(CONFIG_PROPS, ConfigConstant.APP_LIMITER_INITIAL_LIMIT, 20);
+
+    }
+
+    /**
+     * 获取并发上限的最小值
+     *
+     * @return
+     */
+    public static int getAppLimiterMinLimit() {
+
+        return PropsUtil.getInt(CONFIG_PROPS, ConfigConstant.APP_LIMITER_MIN_LIMIT, 1);
+
+    }
+
+    /**
+     * 获取并发上限的最大值
+     *
+     * @return
+     */
+    public static int getAppLimiterMaxLimit() {
+
+        return PropsUtil.getInt(CONFIG_PROPS, ConfigConstant.APP_LIMITER_MAX_LIMIT, 200);
+
+    }
+
+    /**
+     * 获取超出并发上限时的等待队列长度（0 表示立即拒绝）
+     *
+     * @return
+     */
+    public static int getAppLimiterQueueSize() {
+
+        return PropsUtil.getInt(CONFIG_PROPS, ConfigConstant.APP_LIMITER_QUEUE_SIZE, 50);
+
+    }
+
+    /**
+     * 获取在等待队列中的最长等待时间（单位：毫秒）
+     *
+     * @return
+     */
+    public static int getAppLimiterQueueTimeout() {
+
+        return PropsUtil.getInt(CONFIG_PROPS, ConfigConstant.APP_LIMITER_QUEUE_TIMEOUT, 100);
+
+    }
+
+    /**
+     * 获取代理类缓存目录（未配置时不缓存）
+     *
+     * @return
+     */
+    public static String getAppProxyCacheDir() {
+
+        return PropsUtil.getString(CONFIG_PROPS, ConfigConstant.APP_PROXY_CACHE_DIR);
+
+    }
+
+    /**
+     * 获取代理类缓存文件的签名密钥（未配置时只校验内容摘要，无法防止缓存目录中的文件被篡改）
+     *
+     * @return
+     */
+    public static String getAppProxyCacheSecret() {
+
+        return PropsUtil.getString(CONFIG_PROPS, ConfigConstant.APP_PROXY_CACHE_SECRET);
+
+    }
+
 }
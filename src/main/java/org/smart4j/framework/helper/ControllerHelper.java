@@ -1,13 +1,14 @@
 package org.smart4j.framework.helper;
 
 import org.smart4j.framework.annotation.Action;
+import org.smart4j.framework.bean.FormParam;
 import org.smart4j.framework.bean.Handler;
-import org.smart4j.framework.bean.Request;
 import org.smart4j.framework.util.ArrayUtil;
 import org.smart4j.framework.util.CollectionUtil;
 
 import java.lang.reflect.Method;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -16,11 +17,14 @@ import java.util.Set;
  */
 public final class ControllerHelper {
 
-    //用于存放请求与处理器的映射关系（简称Action Map）
-    private static final Map<Request, Handler> ACTION_MAP = new HashMap<Request, Handler>();
+    //编译后的不可变路由表（按请求方法划分，启动后不再修改）
+    private static final RouteTable ROUTE_TABLE;
 
     static {
 
+        //用于存放请求方法与路由前缀树的映射关系（每种请求方法对应一棵前缀树）
+        Map<String, RouteTrie> routeTrieMap = new HashMap<String, RouteTrie>();
+
         //获取所有的Controller类
         Set<Class<?>> controllerClassSet = ClassHelper.getControllerClassSet();
         if (CollectionUtil.isNotEmpty(controllerClassSet)) {
@@ -34,23 +38,29 @@ public final class ControllerHelper {
                         //从Action注解中获取URL映射规则
                         Action action = method.getAnnotation(Action.class);
                         String mapping = action.value();
-                        //验证URL映射规则
-                        if (mapping.matches("\\w+:/\\w*")) {
-                            String[] array = mapping.split(":");
+                        //验证URL映射规则（路径中可包含{var}路径变量与*通配符）
+                        if (mapping.matches("\\w+:/[\\w{}*/.-]*")) {
+                            String[] array = mapping.split(":", 2);
                             if (ArrayUtil.isNotEmpty(array) && array.length == 2) {
                                 //获取请求方法与请求路径
-                                String requestMethod  = array[0];
+                                String requestMethod  = array[0].toUpperCase();
                                 String requestPath = array[1];
-                                Request request = new Request(requestMethod, requestPath);
                                 Handler handler = new Handler(controllerClass, method);
-                                //初始化Action Map
-                                ACTION_MAP.put(request, handler);
+                                //初始化路由前缀树
+                                RouteTrie routeTrie = routeTrieMap.get(requestMethod);
+                                if (routeTrie == null) {
+                                    routeTrie = new RouteTrie();
+                                    routeTrieMap.put(requestMethod, routeTrie);
+                                }
+                                routeTrie.addRoute(requestPath, handler);
                             }
                         }
                     }
                 }
             }
         }
+        //编译路由表
+        ROUTE_TABLE = new RouteTable(routeTrieMap);
 
     }
 
@@ -65,8 +75,39 @@ public final class ControllerHelper {
      */
     public static Handler getHandler(String requestMehod, String requestPath) {
 
-        Request request = new Request(requestMehod, requestPath);
-        return ACTION_MAP.get(request);
+        return getHandler(requestMehod, requestPath, null);
+
+    }
+
+    /**
+     * 获取Handler，并收集路径中匹配到的路径变量
+     *
+     * @param requestMehod
+     *                      请求方法名
+     * @param requestPath
+     *                      请求路径
+     * @param pathParamList
+     *                      用于接收路径变量的列表（可为null）
+     * @return
+     */
+    public static Handler getHandler(String requestMehod, String requestPath, List<FormParam> pathParamList) {
+
+        return ROUTE_TABLE.match(requestMehod, requestPath, pathParamList);
+
+    }
+
+    /**
+     * 获取静态路由（不含路径变量）的Handler
+     *
+     * @param requestMehod
+     *                      请求方法名
+     * @param requestPath
+     *                      请求路径
+     * @return 不是静态路由时返回null
+     */
+    public static Handler getStaticHandler(String requestMehod, String requestPath) {
+
+        return ROUTE_TABLE.matchStatic(requestMehod, requestPath);
 
     }
 
@@ -9,17 +9,20 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.smart4j.framework.util.CollectionUtil;
 import org.smart4j.framework.util.PropsUtil;
+import org.smart4j.framework.util.StringUtil;
 
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * 数据库操作助手类
@@ -33,9 +36,24 @@ public class DatabaseHelper {
     private static final QueryRunner QUERY_RUNNER;
     private static final BasicDataSource DATA_SOURCE;
 
+    // 当前线程中的事务状态（用于超时检查及在释放连接前恢复连接属性）
+    private static final ThreadLocal<TransactionState> TRANSACTION_HOLDER = new ThreadLocal<TransactionState>();
+
+    // 从库（只读事务在从库上执行）
+    private static final BasicDataSource[] REPLICA_DATA_SOURCES;
+    private static final boolean LEAST_CONNECTIONS;
+    private static final AtomicInteger REPLICA_INDEX = new AtomicInteger();
+
     static {
         CONNECTION_HOLDER = new ThreadLocal<Connection>();
-        QUERY_RUNNER = new QueryRunner();
+        QUERY_RUNNER = new QueryRunner() {
+            @Override
+            protected PreparedStatement prepareStatement(Connection conn, String sql) throws SQLException {
+                PreparedStatement stmt = super.prepareStatement(conn, sql);
+                applyTimeout(stmt);
+                return stmt;
+            }
+        };
 
         Properties conf = PropsUtil.loadProps("smart.properties");
         String driver = conf.getProperty("smart.framework.jdbc.driver");
@@ -48,6 +66,24 @@ public class DatabaseHelper {
         DATA_SOURCE.setUrl(url);
         DATA_SOURCE.setUsername(username);
         DATA_SOURCE.setPassword(password);
+
+        List<BasicDataSource> replicaDataSourceList = new ArrayList<BasicDataSource>();
+        String replicaUrls = ConfigHelper.getJdbcReplicaUrls();
+        if (StringUtil.isNotEmpty(replicaUrls)) {
+            for (String replicaUrl: replicaUrls.split(",")) {
+                if (StringUtil.isNotEmpty(replicaUrl.trim())) {
+                    BasicDataSource replicaDataSource = new BasicDataSource();
+                    replicaDataSource.setDriverClassName(driver);
+                    replicaDataSource.setUrl(replicaUrl.trim());
+                    replicaDataSource.setUsername(ConfigHelper.getJdbcReplicaUsername());
+                    replicaDataSource.setPassword(ConfigHelper.getJdbcReplicaPassword());
+                    replicaDataSource.setDefaultReadOnly(true);
+                    replicaDataSourceList.add(replicaDataSource);
+                }
+            }
+        }
+        REPLICA_DATA_SOURCES = replicaDataSourceList.toArray(new BasicDataSource[replicaDataSourceList.size()]);
+        LEAST_CONNECTIONS = "least_connections".equals(ConfigHelper.getJdbcReplicaBalance());
     }
 
     /**
@@ -72,6 +108,36 @@ public class DatabaseHelper {
 
     }
 
+    /**
+     * 关闭当前线程持有的数据库连接（每个请求结束时调用，避免连接泄漏，
+     * 并使之后的只读事务可以从从库获取连接；未结束的事务将被回滚）
+     */
+    public static void closeConnection() {
+
+        Connection conn = CONNECTION_HOLDER.get();
+        if (conn != null) {
+            try {
+                try {
+                    if (TRANSACTION_HOLDER.get() != null) {// 事务未提交或回滚
+                        LOGGER.warn("rollback unfinished transaction");
+                        conn.rollback();
+                        resetConnection(conn);
+                        conn.setAutoCommit(true);
+                    }
+                } finally {
+                    conn.close();
+                }
+            } catch (SQLException e) {
+                LOGGER.error("close connection failure", e);
+                throw new RuntimeException(e);
+            } finally {
+                CONNECTION_HOLDER.remove();// 将数据库连接从本地线程变量中移除
+                TRANSACTION_HOLDER.remove();
+            }
+        }
+
+    }
+
     /**
      * 查询实体列表
      *
@@ -265,16 +331,43 @@ public class DatabaseHelper {
      */
     public static void beginTransaction() {
 
-        Connection conn = getConnection();// 获取数据库连接
-        if (conn != null) {
-            try {
-                conn.setAutoCommit(false);// 设置为手动提交事务
-            } catch (SQLException e) {
-                LOGGER.error("begin transaction failure", e);
-                throw new RuntimeException(e);
-            } finally {
-                CONNECTION_HOLDER.set(conn);// 将数据库连接放入本地线程变量中
+        beginTransaction(false, -1, -1);
+
+    }
+
+    /**
+     * 开启事务
+     *
+     * @param readOnly
+     *                  是否只读（配置了从库且当前线程未持有数据库连接时，从从库获取连接）
+     * @param isolation
+     *                  隔离级别（小于等于0时使用数据库连接的隔离级别，TRANSACTION_NONE 无法用于事务）
+     * @param timeout
+     *                  超时时间（单位：秒，小于等于0时不限制）
+     */
+    public static void beginTransaction(boolean readOnly, int isolation, int timeout) {
+
+        Connection conn = CONNECTION_HOLDER.get();
+        try {
+            if (conn == null) {
+                conn = readOnly && REPLICA_DATA_SOURCES.length > 0
+                        ? getReplicaDataSource().getConnection() : DATA_SOURCE.getConnection();
+            }
+            TransactionState state = new TransactionState(conn.isReadOnly(), conn.getTransactionIsolation(),
+                    timeout > 0 ? System.currentTimeMillis() + timeout * 1000L : 0);
+            TRANSACTION_HOLDER.set(state);
+            if (readOnly && !state.readOnly) {
+                conn.setReadOnly(true);
             }
+            if (isolation > 0 && isolation != state.isolation) {
+                conn.setTransactionIsolation(isolation);
+            }
+            conn.setAutoCommit(false);// 设置为手动提交事务
+        } catch (SQLException e) {
+            LOGGER.error("begin transaction failure", e);
+            throw new RuntimeException(e);
+        } finally {
+            CONNECTION_HOLDER.set(conn);// 将数据库连接放入本地线程变量中
         }
 
     }
@@ -288,12 +381,14 @@ public class DatabaseHelper {
         if (conn != null) {
             try {
                 conn.commit();// 提交事务
+                resetConnection(conn);
                 conn.close();// 关闭连接
             } catch (SQLException e) {
                 LOGGER.error("commit transaction failure", e);
                 throw new RuntimeException(e);
             } finally {
                 CONNECTION_HOLDER.remove();// 将数据库连接从本地线程变量中移除
+                TRANSACTION_HOLDER.remove();
             }
         }
 
@@ -308,12 +403,80 @@ public class DatabaseHelper {
         if (conn != null) {
             try {
                 conn.rollback();// 回滚事务
+                resetConnection(conn);
                 conn.close();
             } catch (SQLException e) {
                 LOGGER.error("rollback transaction failure", e);
                 throw new RuntimeException(e);
             } finally {
                 CONNECTION_HOLDER.remove();// 将数据库连接从本地线程变量中移除
+                TRANSACTION_HOLDER.remove();
+            }
+        }
+
+    }
+
+    /**
+     * 选择从库（轮询或选择活动连接最少的从库）
+     *
+     * @return
+     */
+    private static BasicDataSource getReplicaDataSource() {
+
+        int start = (REPLICA_INDEX.getAndIncrement() & Integer.MAX_VALUE) % REPLICA_DATA_SOURCES.length;
+        BasicDataSource dataSource = REPLICA_DATA_SOURCES[start];
+        if (LEAST_CONNECTIONS) {// 从轮询位置开始比较，活动连接数相同时依次分配
+            int minActive = dataSource.getNumActive();
+            for (int i = 1; i < REPLICA_DATA_SOURCES.length && minActive > 0; i++) {
+                BasicDataSource replicaDataSource = REPLICA_DATA_SOURCES[(start + i) % REPLICA_DATA_SOURCES.length];
+                int active = replicaDataSource.getNumActive();
+                if (active < minActive) {
+                    dataSource = replicaDataSource;
+                    minActive = active;
+                }
+            }
+        }
+        return dataSource;
+
+    }
+
+    /**
+     * 设置SQL语句的超时时间（事务剩余的时间），事务已超时则抛出异常
+     *
+     * @param stmt
+     *                  SQL语句
+     * @throws SQLException
+     */
+    private static void applyTimeout(PreparedStatement stmt) throws SQLException {
+
+        TransactionState state = TRANSACTION_HOLDER.get();
+        if (state != null && state.deadline > 0) {
+            long remaining = state.deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                stmt.close();
+                throw new SQLException("transaction timed out");
+            }
+            stmt.setQueryTimeout((int) Math.min(Integer.MAX_VALUE, (remaining + 999) / 1000));
+        }
+
+    }
+
+    /**
+     * 恢复数据库连接在开启事务前的属性（连接归还连接池后会被复用）
+     *
+     * @param conn
+     *                  数据库连接
+     * @throws SQLException
+     */
+    private static void resetConnection(Connection conn) throws SQLException {
+
+        TransactionState state = TRANSACTION_HOLDER.get();
+        if (state != null) {
+            if (conn.isReadOnly() != state.readOnly) {
+                conn.setReadOnly(state.readOnly);
+            }
+            if (conn.getTransactionIsolation() != state.isolation) {
+                conn.setTransactionIsolation(state.isolation);
             }
         }
 
@@ -332,4 +495,21 @@ public class DatabaseHelper {
 
     }
 
+    /**
+     * 事务状态
+     */
+    private static class TransactionState {
+
+        private final boolean readOnly;
+        private final int isolation;
+        private final long deadline;
+
+        TransactionState(boolean readOnly, int isolation, long deadline) {
+            this.readOnly = readOnly;
+            this.isolation = isolation;
+            this.deadline = deadline;
+        }
+
+    }
+
 }
@@ -0,0 +1,84 @@
+package org.smart4j.framework.helper;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Action执行线程助手类
+ */
+public final class ExecutorHelper {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExecutorHelper.class);
+
+    // Action执行线程池（为null时在容器线程中执行）
+    private static final ExecutorService EXECUTOR_SERVICE;
+
+    static {
+
+        String executor = ConfigHelper.getAppExecutor();
+        if ("virtual".equals(executor)) {
+            EXECUTOR_SERVICE = createVirtualThreadExecutor();
+        } else {
+            EXECUTOR_SERVICE = null;
+        }
+
+    }
+
+    /**
+     * 是否在独立线程中执行Action
+     *
+     * @return
+     */
+    public static boolean isEnabled() {
+
+        return EXECUTOR_SERVICE != null;
+
+    }
+
+    /**
+     * 提交任务
+     *
+     * @param task
+     *              任务
+     */
+    public static void execute(Runnable task) {
+
+        EXECUTOR_SERVICE.execute(task);
+
+    }
+
+    /**
+     * 销毁
+     */
+    public static void destroy() {
+
+        if (EXECUTOR_SERVICE != null) {
+            EXECUTOR_SERVICE.shutdown();
+        }
+
+    }
+
+    /**
+     * 创建每个任务一个虚拟线程的线程池（JDK 21 以下退化为固定大小的平台线程池）
+     *
+     * @return
+     */
+    private static ExecutorService createVirtualThreadExecutor() {
+
+        ExecutorService executorService;
+        try {
+            executorService = (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (Exception e) {
+            int threads = ConfigHelper.getAppExecutorThreads();
+            LOGGER.warn("virtual threads are not supported, fall back to " + threads + " platform threads");
+            executorService = Executors.newFixedThreadPool(threads);
+        }
+        return executorService;
+
+    }
+
+}
@@ -0,0 +1,146 @@
+package org.smart4j.framework.helper;
+
+import org.smart4j.framework.annotation.HttpCache;
+import org.smart4j.framework.util.StringUtil;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * HTTP 缓存助手类（ETag、Last-Modified 与条件 GET）
+ */
+public final class HttpCacheHelper {
+
+    /**
+     * 判断请求是否可使用条件 GET（仅 GET 与 HEAD 请求）
+     *
+     * @param request
+     *                  HttpServletRequest
+     * @return
+     */
+    public static boolean isConditional(HttpServletRequest request) {
+
+        String method = request.getMethod();
+        return "GET".equals(method) || "HEAD".equals(method);
+
+    }
+
+    /**
+     * 生成强 ETag（为实体标签加上双引号）
+     *
+     * @param tag
+     *                  实体标签
+     * @return
+     */
+    public static String toETag(String tag) {
+
+        if (tag.startsWith("\"") || tag.startsWith("W/\"")) {
+            return tag;
+        }
+        return "\"" + tag + "\"";
+
+    }
+
+    /**
+     * 写入缓存相关响应头，并判断客户端缓存是否仍然有效；有效时设置 304 状态码，调用方无需再输出响应体
+     *
+     * @param httpCache
+     *                  HTTP 缓存注解
+     * @param eTag
+     *                  实体标签（可为null）
+     * @param lastModified
+     *                  最后修改时间（毫秒，-1 表示未提供）
+     * @param request
+     *                  HttpServletRequest
+     * @param response
+     *                  HttpServletResponse
+     * @return 是否已返回 304
+     */
+    public static boolean checkNotModified(HttpCache httpCache, String eTag, long lastModified,
+                                           HttpServletRequest request, HttpServletResponse response) {
+
+        return checkNotModified(httpCache.cacheControl(), eTag, lastModified, request, response);
+
+    }
+
+    /**
+     * 写入缓存相关响应头，并判断客户端缓存是否仍然有效；有效时设置 304 状态码，调用方无需再输出响应体
+     *
+     * @param cacheControl
+     *                  Cache-Control 响应头（为空时不写入）
+     * @param eTag
+     *                  实体标签（可为null）
+     * @param lastModified
+     *                  最后修改时间（毫秒，-1 表示未提供）
+     * @param request
+     *                  HttpServletRequest
+     * @param response
+     *                  HttpServletResponse
+     * @return 是否已返回 304
+     */
+    public static boolean checkNotModified(String cacheControl, String eTag, long lastModified,
+                                           HttpServletRequest request, HttpServletResponse response) {
+
+        if (StringUtil.isNotEmpty(cacheControl)) {
+            response.setHeader("Cache-Control", cacheControl);
+        }
+        if (eTag != null) {
+            response.setHeader("ETag", eTag);
+        }
+        if (lastModified >= 0) {
+            response.setDateHeader("Last-Modified", lastModified);
+        }
+        if (isNotModified(eTag, lastModified, request)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return true;
+        }
+        return false;
+
+    }
+
+    /**
+     * 判断客户端缓存是否仍然有效（If-None-Match 优先于 If-Modified-Since）
+     */
+    private static boolean isNotModified(String eTag, long lastModified, HttpServletRequest request) {
+
+        String ifNoneMatch = request.getHeader("If-None-Match");
+        if (ifNoneMatch != null) {
+            return eTag != null && matchETag(ifNoneMatch, eTag);
+        }
+        if (lastModified >= 0) {
+            long ifModifiedSince;
+            try {
+                ifModifiedSince = request.getDateHeader("If-Modified-Since");
+            } catch (IllegalArgumentException e) {
+                return false;
+            }
+            // HTTP 日期精确到秒
+            return ifModifiedSince != -1 && lastModified / 1000 <= ifModifiedSince / 1000;
+        }
+        return false;
+
+    }
+
+    /**
+     * 按弱比较规则匹配 If-None-Match 中的实体标签列表
+     */
+    private static boolean matchETag(String ifNoneMatch, String eTag) {
+
+        String opaqueTag = stripWeak(eTag);
+        for (String tag: ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            if ("*".equals(tag) || stripWeak(tag).equals(opaqueTag)) {
+                return true;
+            }
+        }
+        return false;
+
+    }
+
+    private static String stripWeak(String tag) {
+
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+
+    }
+
+}
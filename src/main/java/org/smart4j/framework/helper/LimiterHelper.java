@@ -0,0 +1,90 @@
+package org.smart4j.framework.helper;
+
+import org.smart4j.framework.annotation.ConcurrencyLimit;
+import org.smart4j.framework.bean.Handler;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 并发限制助手类（每个Action处理器一个自适应并发限制器）
+ */
+public final class LimiterHelper {
+
+    private static final boolean ENABLED = ConfigHelper.isAppLimiter();
+
+    private static final ConcurrentMap<Handler, ConcurrencyLimiter> LIMITER_MAP
+            = new ConcurrentHashMap<Handler, ConcurrencyLimiter>();
+
+    /**
+     * 获取Action处理器的并发限制器
+     *
+     * @param handler
+     *                  Action处理器
+     * @return 未启用并发限制时返回null
+     */
+    public static ConcurrencyLimiter getLimiter(Handler handler) {
+
+        ConcurrencyLimit concurrencyLimit = handler.getConcurrencyLimit();
+        if (concurrencyLimit != null ? !concurrencyLimit.enabled() : !ENABLED) {
+            return null;
+        }
+        ConcurrencyLimiter limiter = LIMITER_MAP.get(handler);
+        if (limiter == null) {
+            limiter = createLimiter(concurrencyLimit);
+            ConcurrencyLimiter existing = LIMITER_MAP.putIfAbsent(handler, limiter);
+            if (existing != null) {
+                limiter = existing;
+            }
+        }
+        return limiter;
+
+    }
+
+    /**
+     * 获取所有已创建的并发限制器（用于查看并发上限与拒绝次数）
+     *
+     * @return
+     */
+    public static Map<Handler, ConcurrencyLimiter> getLimiterMap() {
+
+        return Collections.unmodifiableMap(LIMITER_MAP);
+
+    }
+
+    /**
+     * 获取被拒绝的请求总数
+     *
+     * @return
+     */
+    public static long getRejectedCount() {
+
+        long rejectedCount = 0;
+        for (ConcurrencyLimiter limiter: LIMITER_MAP.values()) {
+            rejectedCount += limiter.getRejectedCount();
+        }
+        return rejectedCount;
+
+    }
+
+    private static ConcurrencyLimiter createLimiter(ConcurrencyLimit concurrencyLimit) {
+
+        int initialLimit = ConfigHelper.getAppLimiterInitialLimit();
+        int minLimit = ConfigHelper.getAppLimiterMinLimit();
+        int maxLimit = ConfigHelper.getAppLimiterMaxLimit();
+        int queueSize = ConfigHelper.getAppLimiterQueueSize();
+        int queueTimeout = ConfigHelper.getAppLimiterQueueTimeout();
+        if (concurrencyLimit != null) {// 注解中的配置优先
+            initialLimit = concurrencyLimit.initialLimit() >= 0 ? concurrencyLimit.initialLimit() : initialLimit;
+            minLimit = concurrencyLimit.minLimit() >= 0 ? concurrencyLimit.minLimit() : minLimit;
+            maxLimit = concurrencyLimit.maxLimit() >= 0 ? concurrencyLimit.maxLimit() : maxLimit;
+            queueSize = concurrencyLimit.queueSize() >= 0 ? concurrencyLimit.queueSize() : queueSize;
+            queueTimeout = concurrencyLimit.queueTimeout() >= 0 ? concurrencyLimit.queueTimeout() : queueTimeout;
+        }
+        return new ConcurrencyLimiter(initialLimit, minLimit, maxLimit, queueSize, queueTimeout);
+
+    }
+
+}
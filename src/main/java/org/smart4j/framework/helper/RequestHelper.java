@@ -2,16 +2,15 @@ package org.smart4j.framework.helper;
 
 import org.smart4j.framework.bean.FormParam;
 import org.smart4j.framework.bean.Param;
-import org.smart4j.framework.util.ArrayUtil;
-import org.smart4j.framework.util.CodecUtil;
-import org.smart4j.framework.util.StreamUtil;
 import org.smart4j.framework.util.StringUtil;
 
 import javax.servlet.http.HttpServletRequest;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Enumeration;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -19,6 +18,10 @@ import java.util.List;
  */
 public final class RequestHelper {
 
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static final int BUFFER_SIZE = 4 * 1024;
+
     /**
      * 创建请求对象
      *
@@ -30,51 +33,74 @@ public final class RequestHelper {
      */
     public static Param createParam(HttpServletRequest request) throws IOException {
 
+        return createParam(request, new ArrayList<FormParam>());
+
+    }
+
+    /**
+     * 创建请求对象（包含路径变量）
+     *
+     * @param request
+     *                  HttpServletRequest
+     * @param pathParamList
+     *                  路径变量列表
+     * @return
+     *
+     * @throws IOException
+     */
+    public static Param createParam(HttpServletRequest request, List<FormParam> pathParamList) throws IOException {
+
+        // 不调用容器的 getParameter 等方法：容器会按自身的字符集读取并解码表单请求体，且不受表单大小上限限制
         List<FormParam> formParamList = new ArrayList<FormParam>();
-        formParamList.addAll(parseParameterNames(request));
-        formParamList.addAll(parseInputStream(request));
+        formParamList.addAll(pathParamList);
+        formParamList.addAll(parseQueryString(request));
+        if (!isJson(request)) {// JSON 请求体由 @Body 参数直接读取
+            formParamList.addAll(parseInputStream(request));
+        }
         return new Param(formParamList);
 
     }
 
     /**
-     * 获取从表单提交的参数
+     * 判断是否为 JSON 请求
+     *
+     * @param request
+     *                  HttpServletRequest
+     * @return
+     */
+    public static boolean isJson(HttpServletRequest request) {
+
+        String contentType = request.getContentType();
+        return contentType != null && contentType.toLowerCase().startsWith("application/json");
+
+    }
+
+    /**
+     * 获取查询字符串中的参数（与请求体使用相同的解析器，按 UTF-8 解码）
      *
      * @param request
      *                  HttpServletRequest
      *
      * @return
      */
-    private static List<FormParam> parseParameterNames(HttpServletRequest request) {
+    private static List<FormParam> parseQueryString(HttpServletRequest request) {
 
-        List<FormParam> formParamList = new ArrayList<FormParam>();
-        Enumeration<String> paramNames = request.getParameterNames();
-        while (paramNames.hasMoreElements()) {
-            String fieldName = paramNames.nextElement();
-            String[] fieldValues = request.getParameterValues(fieldName);
-            if (ArrayUtil.isNotEmpty(fieldValues)) {
-                Object fieldValue;
-                if (fieldValues.length == 1) {
-                    fieldValue = fieldValues[0];
-                } else {
-                    StringBuilder sb = new StringBuilder("");
-                    for (int i = 0; i < fieldValues.length; i++) {
-                        sb.append(fieldValues[i]);
-                        if (i != fieldValues.length - 1) {
-                            sb.append(StringUtil.SEPARATOR);
-                        }
-                    }
-                    fieldValue = sb.toString();
-                }
-                formParamList.add(new FormParam(fieldName, fieldValue));
-            }
+        String queryString = request.getQueryString();
+        if (StringUtil.isEmpty(queryString)) {
+            return Collections.emptyList();
         }
-        return formParamList;
+        // 查询字符串的长度已由容器限制，不再检查大小上限
+        FormBodyParser parser = new FormBodyParser(0);
+        byte[] bytes = queryString.getBytes(UTF_8);
+        parser.parse(bytes, bytes.length);
+        return parser.finish();
 
     }
 
     /**
-     * 获取url上的参数
+     * 获取请求体中的表单参数（application/x-www-form-urlencoded）
+     *
+     * 直接按字节逐个解析，键与值分别按 UTF-8 解码，不生成整个请求体的中间字符串
      *
      * @param request
      *                  HttpServletRequest
@@ -82,23 +108,135 @@ public final class RequestHelper {
      */
     private static List<FormParam> parseInputStream(HttpServletRequest request) throws IOException {
 
-        List<FormParam> formParamList = new ArrayList<FormParam>();
-        String body = CodecUtil.decodeURL(StreamUtil.getString(request.getInputStream()));
-
-        if (StringUtil.isNotEmpty(body)) {
-            String[] kvs = StringUtil.splitString(body, "&");
-            if (ArrayUtil.isNotEmpty(kvs)) {
-                for (String kv: kvs) {
-                    String[] array = StringUtil.splitString(kv, "=");
-                    if (ArrayUtil.isNotEmpty(array) && array.length == 2) {
-                        String fieldName = array[0];
-                        String fieldValue = array[1];
-                        formParamList.add(new FormParam(fieldName, fieldValue));
+        FormBodyParser parser = new FormBodyParser(ConfigHelper.getAppFormLimit() * 1024L);
+        InputStream inputStream = request.getInputStream();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int length;
+        while ((length = inputStream.read(buffer, 0, buffer.length)) != -1) {
+            parser.parse(buffer, length);
+        }
+        return parser.finish();
+
+    }
+
+    /**
+     * 表单请求体解析器（单次遍历的状态机）
+     */
+    private static final class FormBodyParser {
+
+        private final List<FormParam> formParamList = new ArrayList<FormParam>();
+        private final long limit;// 请求体大小上限（0 表示不限制）
+        private long total;
+
+        private byte[] token = new byte[64];// 当前正在解析的键或值（已完成百分号解码）
+        private int tokenLength;
+        private String fieldName;// 已解析出的键，为null表示正在解析键
+
+        private int escapeState;// 百分号转义状态：0 无，2 等待第一位十六进制数，1 等待第二位
+        private int escapeHigh;
+
+        private FormBodyParser(long limit) {
+            this.limit = limit;
+        }
+
+        private void parse(byte[] buffer, int length) {
+
+            total += length;
+            if (limit > 0 && total > limit) {
+                throw new RequestTooLargeException("form body exceeds the limit of " + limit + " bytes");
+            }
+            for (int i = 0; i < length; i++) {
+                byte b = buffer[i];
+                if (escapeState != 0) {
+                    int digit = Character.digit(b, 16);
+                    if (digit != -1) {
+                        if (escapeState == 2) {
+                            escapeHigh = digit;
+                            escapeState = 1;
+                        } else {
+                            append((byte) ((escapeHigh << 4) + digit));
+                            escapeState = 0;
+                        }
+                        continue;
                     }
+                    abortEscape();// 非法转义，按原样保留
+                }
+                switch (b) {
+                    case '&':
+                        endField();
+                        break;
+                    case '=':
+                        if (fieldName == null) {
+                            fieldName = takeToken();
+                        } else {// 值中的等号
+                            append(b);
+                        }
+                        break;
+                    case '+':
+                        append((byte) ' ');
+                        break;
+                    case '%':
+                        escapeState = 2;
+                        break;
+                    default:
+                        append(b);
                 }
             }
+
+        }
+
+        private List<FormParam> finish() {
+
+            if (escapeState != 0) {
+                abortEscape();
+            }
+            endField();
+            return formParamList;
+
+        }
+
+        private void endField() {
+
+            String value;
+            if (fieldName == null) {// 没有等号的字段，值为空字符串
+                fieldName = takeToken();
+                value = "";
+            } else {
+                value = takeToken();
+            }
+            if (!fieldName.isEmpty()) {
+                formParamList.add(new FormParam(fieldName, value));
+            }
+            fieldName = null;
+
+        }
+
+        private void abortEscape() {
+
+            append((byte) '%');
+            if (escapeState == 1) {
+                append((byte) Character.forDigit(escapeHigh, 16));
+            }
+            escapeState = 0;
+
+        }
+
+        private void append(byte b) {
+
+            if (tokenLength == token.length) {
+                token = Arrays.copyOf(token, token.length * 2);
+            }
+            token[tokenLength++] = b;
+
+        }
+
+        private String takeToken() {
+
+            String str = new String(token, 0, tokenLength, UTF_8);
+            tokenLength = 0;
+            return str;
+
         }
-        return formParamList;
 
     }
 
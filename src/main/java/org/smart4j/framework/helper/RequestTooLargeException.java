@@ -0,0 +1,16 @@
+package org.smart4j.framework.helper;
+
+/**
+ * 请求体超出大小上限（由 DispatcherServlet 返回413）
+ */
+public class RequestTooLargeException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public RequestTooLargeException(String message) {
+
+        super(message);
+
+    }
+
+}
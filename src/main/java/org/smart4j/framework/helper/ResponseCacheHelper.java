@@ -0,0 +1,444 @@
+package org.smart4j.framework.helper;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.smart4j.framework.annotation.CacheableAction;
+import org.smart4j.framework.bean.FormParam;
+import org.smart4j.framework.util.CodecUtil;
+import org.smart4j.framework.util.StringUtil;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpSession;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 响应缓存助手类（按近似 LRU 淘汰，支持过期时间与按标签清除，并保证同一个键同时只有一个线程重新计算）
+ *
+ * 命中时只读取 ConcurrentHashMap 并记录访问时间，不加锁；放入、清除与淘汰等写操作使用同一把锁，以维护标签索引
+ */
+public final class ResponseCacheHelper {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResponseCacheHelper.class);
+
+    private static final int MAX_SIZE = ConfigHelper.getAppResponseCacheSize();
+
+    private static final int WAIT_TIMEOUT = ConfigHelper.getAppResponseCacheWaitTimeout();
+
+    // 超出容量时按访问时间淘汰的条目数（一次淘汰多个，以分摊排序的开销）
+    private static final int EVICTION_BATCH = Math.max(1, MAX_SIZE / 8);
+
+    // 缓存数据
+    private static final ConcurrentMap<String, CachedResponse> CACHE_MAP
+            = new ConcurrentHashMap<String, CachedResponse>();
+
+    // 写操作的锁（放入、清除与淘汰缓存数据，以及维护标签索引）
+    private static final Object LOCK = new Object();
+
+    // 标签与缓存键的对应关系（需持有 LOCK）
+    private static final Map<String, Set<String>> TAG_MAP = new HashMap<String, Set<String>>();
+
+    // 按标签清除的次数（计算期间发生清除时不再放入缓存，避免缓存过期数据）
+    private static final AtomicLong EVICTION_COUNT = new AtomicLong();
+
+    // 正在计算中的键
+    private static final ConcurrentMap<String, CompletableFuture<CachedResponse>> LOADING_MAP
+            = new ConcurrentHashMap<String, CompletableFuture<CachedResponse>>();
+
+    // 访问时间的记录精度（纳秒）
+    private static final long ACCESS_TIME_GRANULARITY = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private static final AtomicLong HIT_COUNT = new AtomicLong();
+    private static final AtomicLong MISS_COUNT = new AtomicLong();
+
+    /**
+     * 根据请求路径与规范化后的请求参数（按参数名排序）创建缓存键
+     *
+     * @param requestPath
+     *                  请求路径
+     * @param request
+     *                  HttpServletRequest
+     * @return
+     */
+    public static String createKey(String requestPath, HttpServletRequest request) {
+
+        Map<String, String[]> parameterMap = request.getParameterMap();
+        if (parameterMap.isEmpty()) {
+            return requestPath;
+        }
+        String[] names = parameterMap.keySet().toArray(new String[parameterMap.size()]);
+        Arrays.sort(names);
+        StringBuilder sb = new StringBuilder(requestPath).append('?');
+        appendParams(sb, names, parameterMap);
+        return sb.toString();
+
+    }
+
+    /**
+     * 根据请求路径、指定的请求参数与 Session 属性创建缓存键
+     *
+     * @param requestPath
+     *                  请求路径
+     * @param request
+     *                  HttpServletRequest
+     * @param cacheableAction
+     *                  响应缓存注解
+     * @return
+     */
+    public static String createKey(String requestPath, HttpServletRequest request, CacheableAction cacheableAction) {
+
+        String key;
+        if (cacheableAction.params().length == 0) {
+            key = createKey(requestPath, request);
+        } else {
+            StringBuilder sb = new StringBuilder(requestPath).append('?');
+            appendParams(sb, cacheableAction.params(), request.getParameterMap());
+            key = sb.toString();
+        }
+        String varyBySession = cacheableAction.varyBySession();
+        if (StringUtil.isNotEmpty(varyBySession)) {
+            HttpSession session = request.getSession(false);
+            Object value = session != null ? session.getAttribute(varyBySession) : null;
+            key = key + '#' + (value != null ? CodecUtil.encodeURL(String.valueOf(value)) : "");
+        }
+        return key;
+
+    }
+
+    /**
+     * 追加请求参数（参数名与参数值重新进行 URL 编码，避免值中的 &、=、# 与分隔符混淆而使不同请求得到相同的键）
+     */
+    private static void appendParams(StringBuilder sb, String[] names, Map<String, String[]> parameterMap) {
+
+        for (String name: names) {
+            String[] values = parameterMap.get(name);
+            if (values != null) {
+                String encodedName = CodecUtil.encodeURL(name);
+                for (String value: values) {
+                    sb.append(encodedName).append('=').append(CodecUtil.encodeURL(value)).append('&');
+                }
+            }
+        }
+
+    }
+
+    /**
+     * 解析缓存标签中引用的路径变量（如 product:{id}）
+     *
+     * @param tags
+     *                  缓存标签
+     * @param pathParamList
+     *                  路径变量列表
+     * @return
+     */
+    public static String[] resolveTags(String[] tags, List<FormParam> pathParamList) {
+
+        String[] resolvedTags = new String[tags.length];
+        for (int i = 0; i < tags.length; i++) {
+            String tag = tags[i];
+            if (tag.indexOf('{') >= 0) {
+                for (FormParam pathParam: pathParamList) {
+                    tag = tag.replace("{" + pathParam.getFieldName() + "}", String.valueOf(pathParam.getFieldValue()));
+                }
+            }
+            resolvedTags[i] = tag;
+        }
+        return resolvedTags;
+
+    }
+
+    /**
+     * 获取未过期的缓存数据
+     *
+     * @param key
+     *              缓存键
+     * @return 未命中时返回null
+     */
+    public static CachedResponse get(String key) {
+
+        CachedResponse cachedResponse = CACHE_MAP.get(key);
+        if (cachedResponse != null && cachedResponse.isExpired()) {
+            synchronized (LOCK) {
+                if (CACHE_MAP.remove(key, cachedResponse)) {
+                    removeTags(key, cachedResponse);
+                }
+            }
+            cachedResponse = null;
+        }
+        if (cachedResponse != null) {
+            cachedResponse.touch();
+            HIT_COUNT.incrementAndGet();
+        } else {
+            MISS_COUNT.incrementAndGet();
+        }
+        return cachedResponse;
+
+    }
+
+    /**
+     * 开始计算缓存数据
+     *
+     * 返回null表示当前线程负责计算，计算结束后必须调用 {@link #complete}；
+     * 否则返回正在计算的结果，调用方等待即可
+     *
+     * @param key
+     *              缓存键
+     * @return
+     */
+    public static CompletableFuture<CachedResponse> startLoading(String key) {
+
+        return LOADING_MAP.putIfAbsent(key, new CompletableFuture<CachedResponse>());
+
+    }
+
+    /**
+     * 等待其它线程的计算结果（最多等待 response_cache_wait_timeout 毫秒）
+     *
+     * @param future
+     *              计算结果
+     * @return 无法缓存、计算失败或等待超时时返回null（调用方自行调用Action）
+     */
+    public static CachedResponse await(CompletableFuture<CachedResponse> future) {
+
+        try {
+            return future.get(WAIT_TIMEOUT, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (TimeoutException e) {
+            LOGGER.warn("await cached response timeout");
+        } catch (Exception e) {
+            LOGGER.error("await cached response failure", e);
+        }
+        return null;
+
+    }
+
+    /**
+     * 获取按标签清除的次数（开始计算前获取，结束计算时传入 {@link #complete}）
+     *
+     * @return
+     */
+    public static long getEvictionCount() {
+
+        return EVICTION_COUNT.get();
+
+    }
+
+    /**
+     * 结束计算：放入缓存（cachedResponse不为null时）并唤醒等待的线程
+     *
+     * @param key
+     *              缓存键
+     * @param cachedResponse
+     *              缓存数据（无法缓存时为null）
+     * @param evictionCount
+     *              开始计算前按标签清除的次数（此后发生过清除时不放入缓存）
+     */
+    public static void complete(String key, CachedResponse cachedResponse, long evictionCount) {
+
+        if (cachedResponse != null) {
+            synchronized (LOCK) {
+                if (EVICTION_COUNT.get() == evictionCount) {
+                    CachedResponse previous = CACHE_MAP.put(key, cachedResponse);
+                    if (previous != null) {
+                        removeTags(key, previous);
+                    }
+                    for (String tag: cachedResponse.getTags()) {
+                        Set<String> keySet = TAG_MAP.get(tag);
+                        if (keySet == null) {
+                            keySet = new HashSet<String>();
+                            TAG_MAP.put(tag, keySet);
+                        }
+                        keySet.add(key);
+                    }
+                    if (CACHE_MAP.size() > MAX_SIZE) {
+                        evictLeastRecentlyUsed();
+                    }
+                }
+            }
+        }
+        CompletableFuture<CachedResponse> future = LOADING_MAP.remove(key);
+        if (future != null) {
+            future.complete(cachedResponse);
+        }
+
+    }
+
+    /**
+     * 清除带有指定标签的缓存（供业务代码在数据变更后调用）
+     *
+     * @param tag
+     *              缓存标签
+     */
+    public static void evictByTag(String tag) {
+
+        synchronized (LOCK) {
+            EVICTION_COUNT.incrementAndGet();
+            Set<String> keySet = TAG_MAP.remove(tag);
+            if (keySet != null) {
+                for (String key: keySet) {
+                    CachedResponse cachedResponse = CACHE_MAP.remove(key);
+                    if (cachedResponse != null) {
+                        removeTags(key, cachedResponse);
+                    }
+                }
+            }
+        }
+
+    }
+
+    /**
+     * 清空缓存
+     */
+    public static void clear() {
+
+        synchronized (LOCK) {
+            EVICTION_COUNT.incrementAndGet();
+            CACHE_MAP.clear();
+            TAG_MAP.clear();
+        }
+
+    }
+
+    /**
+     * 淘汰最久未访问的一批条目，使条目数回到容量以内（需持有 LOCK）
+     */
+    private static void evictLeastRecentlyUsed() {
+
+        // 先取访问时间的快照再排序（命中时会并发更新访问时间），找出需淘汰的最晚访问时间
+        long[] accessTimes = new long[CACHE_MAP.size()];
+        int count = 0;
+        for (CachedResponse cachedResponse: CACHE_MAP.values()) {
+            if (count == accessTimes.length) {
+                break;
+            }
+            accessTimes[count++] = cachedResponse.lastAccessTime;
+        }
+        int evictCount = Math.min(count, count - MAX_SIZE + EVICTION_BATCH - 1);
+        if (evictCount <= 0) {
+            return;
+        }
+        Arrays.sort(accessTimes, 0, count);
+        long threshold = accessTimes[evictCount - 1];
+        for (Map.Entry<String, CachedResponse> entry: CACHE_MAP.entrySet()) {
+            if (evictCount == 0) {
+                break;
+            }
+            if (entry.getValue().lastAccessTime <= threshold && CACHE_MAP.remove(entry.getKey(), entry.getValue())) {
+                removeTags(entry.getKey(), entry.getValue());
+                evictCount--;
+            }
+        }
+
+    }
+
+    /**
+     * 移除缓存键在标签索引中的记录（需持有 LOCK）
+     */
+    private static void removeTags(String key, CachedResponse cachedResponse) {
+
+        for (String tag: cachedResponse.getTags()) {
+            Set<String> keySet = TAG_MAP.get(tag);
+            if (keySet != null) {
+                keySet.remove(key);
+                if (keySet.isEmpty()) {
+                    TAG_MAP.remove(tag);
+                }
+            }
+        }
+
+    }
+
+    /**
+     * 获取命中次数
+     *
+     * @return
+     */
+    public static long getHitCount() {
+
+        return HIT_COUNT.get();
+
+    }
+
+    /**
+     * 获取未命中次数
+     *
+     * @return
+     */
+    public static long getMissCount() {
+
+        return MISS_COUNT.get();
+
+    }
+
+    /**
+     * 缓存的响应数据
+     */
+    public static final class CachedResponse {
+
+        private final String contentType;// 响应类型
+        private final byte[] body;// 响应体
+        private final String eTag;// 实体标签（可为null）
+        private final long lastModified;// 最后修改时间（-1 表示未提供）
+        private final long expireTime;// 过期时间
+        private final String[] tags;// 缓存标签
+        private volatile long lastAccessTime;// 最后访问时间（System.nanoTime()，用于淘汰）
+
+        public CachedResponse(String contentType, byte[] body, String eTag, long lastModified, int ttl,
+                              String[] tags) {
+            this.contentType = contentType;
+            this.body = body;
+            this.eTag = eTag;
+            this.lastModified = lastModified;
+            this.expireTime = System.currentTimeMillis() + ttl * 1000L;
+            this.tags = tags;
+            this.lastAccessTime = System.nanoTime();
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+
+        public String getETag() {
+            return eTag;
+        }
+
+        public long getLastModified() {
+            return lastModified;
+        }
+
+        public String[] getTags() {
+            return tags;
+        }
+
+        public boolean isExpired() {
+            return System.currentTimeMillis() > expireTime;
+        }
+
+        /**
+         * 记录访问时间（间隔不足1毫秒时不更新，避免频繁访问的条目在多个CPU之间反复写同一缓存行）
+         */
+        void touch() {
+            long now = System.nanoTime();
+            if (now - lastAccessTime > ACCESS_TIME_GRANULARITY) {
+                lastAccessTime = now;
+            }
+        }
+
+    }
+
+}
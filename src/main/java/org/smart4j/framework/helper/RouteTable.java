@@ -0,0 +1,323 @@
+package org.smart4j.framework.helper;
+
+import org.smart4j.framework.bean.FormParam;
+import org.smart4j.framework.bean.Handler;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 编译后的不可变路由表
+ *
+ * 请求方法预先编号，静态路由存放于开放寻址哈希表，动态路由由编译后的前缀树匹配，
+ * 匹配过程中不创建任何对象（仅在命中路径变量时创建对应的FormParam）
+ */
+final class RouteTable {
+
+    // 常用请求方法（下标即方法编号）
+    private static final String[] KNOWN_METHODS = {
+            "GET", "POST", "PUT", "DELETE", "PATCH", "HEAD", "OPTIONS", "TRACE"
+    };
+
+    private final MethodRoutes[] knownMethodRoutes = new MethodRoutes[KNOWN_METHODS.length];
+    private final Map<String, MethodRoutes> otherMethodRoutes = new HashMap<String, MethodRoutes>();
+
+    RouteTable(Map<String, RouteTrie> routeTrieMap) {
+
+        for (Map.Entry<String, RouteTrie> routeTrieEntry: routeTrieMap.entrySet()) {
+            String requestMethod = routeTrieEntry.getKey();
+            MethodRoutes methodRoutes = new MethodRoutes(routeTrieEntry.getValue());
+            int index = methodIndex(requestMethod);
+            if (index != -1) {
+                knownMethodRoutes[index] = methodRoutes;
+            } else {
+                otherMethodRoutes.put(requestMethod, methodRoutes);
+            }
+        }
+
+    }
+
+    /**
+     * 匹配路由
+     *
+     * @param requestMethod
+     *                      请求方法（大写）
+     * @param requestPath
+     *                      请求路径
+     * @param pathParamList
+     *                      用于接收路径变量的列表（可为null）
+     * @return
+     */
+    Handler match(String requestMethod, String requestPath, List<FormParam> pathParamList) {
+
+        MethodRoutes methodRoutes = getMethodRoutes(requestMethod);
+        if (methodRoutes == null || requestPath == null) {
+            return null;
+        }
+        return methodRoutes.match(requestPath, pathParamList);
+
+    }
+
+    /**
+     * 只匹配静态路由（静态路由没有路径变量，调用方无需准备接收路径变量的列表）
+     *
+     * @param requestMethod
+     *                      请求方法（大写）
+     * @param requestPath
+     *                      请求路径
+     * @return 不是静态路由时返回null
+     */
+    Handler matchStatic(String requestMethod, String requestPath) {
+
+        MethodRoutes methodRoutes = getMethodRoutes(requestMethod);
+        if (methodRoutes == null || requestPath == null) {
+            return null;
+        }
+        return methodRoutes.matchStatic(requestPath);
+
+    }
+
+    private MethodRoutes getMethodRoutes(String requestMethod) {
+
+        int index = methodIndex(requestMethod);
+        return index != -1 ? knownMethodRoutes[index] : otherMethodRoutes.get(requestMethod);
+
+    }
+
+    /**
+     * 获取请求方法编号（非常用方法返回-1）
+     */
+    static int methodIndex(String requestMethod) {
+
+        switch (requestMethod) {
+            case "GET":
+                return 0;
+            case "POST":
+                return 1;
+            case "PUT":
+                return 2;
+            case "DELETE":
+                return 3;
+            case "PATCH":
+                return 4;
+            case "HEAD":
+                return 5;
+            case "OPTIONS":
+                return 6;
+            case "TRACE":
+                return 7;
+            default:
+                return -1;
+        }
+
+    }
+
+    /**
+     * 计算路径片段的哈希值（与String#hashCode一致，但无需截取子串）
+     */
+    private static int hash(String path, int start, int end) {
+
+        int h = 0;
+        for (int i = start; i < end; i++) {
+            h = 31 * h + path.charAt(i);
+        }
+        return h;
+
+    }
+
+    private static int spread(int h) {
+
+        return h ^ (h >>> 16);
+
+    }
+
+    private static int tableSize(int count) {
+
+        int size = 2;
+        while (size < count * 2) {
+            size <<= 1;
+        }
+        return size;
+
+    }
+
+    /**
+     * 某一请求方法下的全部路由
+     */
+    private static final class MethodRoutes {
+
+        // 静态路由哈希表
+        private final String[] staticPaths;
+        private final int[] staticHashes;
+        private final Handler[] staticHandlers;
+        private final int staticMask;
+
+        // 动态路由前缀树
+        private final Node root;
+
+        private MethodRoutes(RouteTrie routeTrie) {
+
+            int size = tableSize(routeTrie.staticRouteMap.size());
+            staticPaths = new String[size];
+            staticHashes = new int[size];
+            staticHandlers = new Handler[size];
+            staticMask = size - 1;
+            for (Map.Entry<String, Handler> staticRouteEntry: routeTrie.staticRouteMap.entrySet()) {
+                String path = staticRouteEntry.getKey();
+                int h = path.hashCode();
+                int i = spread(h) & staticMask;
+                while (staticPaths[i] != null) {
+                    i = (i + 1) & staticMask;
+                }
+                staticPaths[i] = path;
+                staticHashes[i] = h;
+                staticHandlers[i] = staticRouteEntry.getValue();
+            }
+            root = new Node(routeTrie.root);
+
+        }
+
+        private Handler match(String requestPath, List<FormParam> pathParamList) {
+
+            Handler handler = matchStatic(requestPath);
+            if (handler != null) {
+                return handler;
+            }
+            int paramIndex = pathParamList != null ? pathParamList.size() : 0;
+            Node node = root.match(requestPath, 0, 0, pathParamList, paramIndex);
+            return node != null ? node.handler : null;
+
+        }
+
+        private Handler matchStatic(String requestPath) {
+
+            int h = requestPath.hashCode();
+            int i = spread(h) & staticMask;
+            String path;
+            while ((path = staticPaths[i]) != null) {
+                if (staticHashes[i] == h && path.equals(requestPath)) {
+                    return staticHandlers[i];
+                }
+                i = (i + 1) & staticMask;
+            }
+            return null;
+
+        }
+
+    }
+
+    /**
+     * 编译后的前缀树节点
+     */
+    private static final class Node {
+
+        private final String[] literalSegments;
+        private final int[] literalHashes;
+        private final Node[] literalNodes;
+        private final int literalMask;
+        private final Node variableChild;
+        private final Node wildcardChild;
+        private final Handler handler;
+        private final String[] variableNames;
+
+        private Node(RouteTrie.Node source) {
+
+            int size = tableSize(source.literalChildren.size());
+            literalSegments = new String[size];
+            literalHashes = new int[size];
+            literalNodes = new Node[size];
+            literalMask = size - 1;
+            for (Map.Entry<String, RouteTrie.Node> childEntry: source.literalChildren.entrySet()) {
+                String segment = childEntry.getKey();
+                int h = segment.hashCode();
+                int i = spread(h) & literalMask;
+                while (literalSegments[i] != null) {
+                    i = (i + 1) & literalMask;
+                }
+                literalSegments[i] = segment;
+                literalHashes[i] = h;
+                literalNodes[i] = new Node(childEntry.getValue());
+            }
+            variableChild = source.variableChild != null ? new Node(source.variableChild) : null;
+            wildcardChild = source.wildcardChild != null ? new Node(source.wildcardChild) : null;
+            handler = source.handler;
+            variableNames = source.variableNames;
+
+        }
+
+        /**
+         * 按字面量、路径变量、通配符的优先级递归匹配，失败时回溯；
+         * 路径变量在匹配成功后回溯时才写入列表，失败的分支不会创建对象
+         *
+         * @param path
+         *                      请求路径
+         * @param start
+         *                      当前路径片段的起始位置
+         * @param depth
+         *                      已匹配的路径变量个数
+         * @param pathParamList
+         *                      用于接收路径变量的列表（可为null）
+         * @param paramIndex
+         *                      路径变量在列表中的起始位置
+         * @return 匹配到的叶子节点
+         */
+        private Node match(String path, int start, int depth, List<FormParam> pathParamList, int paramIndex) {
+
+            start = RouteTrie.skipSlash(path, start);
+            int length = path.length();
+            if (start == length) {
+                return handler != null ? this : null;
+            }
+            int end = path.indexOf('/', start);
+            if (end == -1) {
+                end = length;
+            }
+            Node child = findLiteral(path, start, end);
+            if (child != null) {
+                Node leaf = child.match(path, end, depth, pathParamList, paramIndex);
+                if (leaf != null) {
+                    return leaf;
+                }
+            }
+            if (variableChild != null) {
+                Node leaf = variableChild.match(path, end, depth + 1, pathParamList, paramIndex);
+                if (leaf != null) {
+                    if (pathParamList != null) {
+                        pathParamList.add(paramIndex, new FormParam(leaf.variableNames[depth],
+                                path.substring(start, end)));
+                    }
+                    return leaf;
+                }
+            }
+            if (wildcardChild != null && wildcardChild.handler != null) {
+                if (pathParamList != null) {
+                    pathParamList.add(paramIndex, new FormParam(wildcardChild.variableNames[depth],
+                            path.substring(start)));
+                }
+                return wildcardChild;
+            }
+            return null;
+
+        }
+
+        private Node findLiteral(String path, int start, int end) {
+
+            int segmentLength = end - start;
+            int h = hash(path, start, end);
+            int i = spread(h) & literalMask;
+            String segment;
+            while ((segment = literalSegments[i]) != null) {
+                if (literalHashes[i] == h && segment.length() == segmentLength
+                        && path.regionMatches(start, segment, 0, segmentLength)) {
+                    return literalNodes[i];
+                }
+                i = (i + 1) & literalMask;
+            }
+            return null;
+
+        }
+
+    }
+
+}
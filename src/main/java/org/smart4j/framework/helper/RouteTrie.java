@@ -0,0 +1,111 @@
+package org.smart4j.framework.helper;
+
+import org.smart4j.framework.bean.Handler;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 路由前缀树（以路径段为单位，支持字面量、{var}路径变量与*通配符），用于启动时收集路由
+ */
+final class RouteTrie {
+
+    private static final String WILDCARD = "*";
+
+    final Node root = new Node();
+
+    // 不含路径变量与通配符的静态路由（键为规范化后的请求路径）
+    final Map<String, Handler> staticRouteMap = new HashMap<String, Handler>();
+
+    /**
+     * 添加路由
+     *
+     * @param requestPath
+     *                      请求路径（如 /order/{id}、/file/*）
+     * @param handler
+     *                      Action处理器
+     */
+    void addRoute(String requestPath, Handler handler) {
+
+        Node node = root;
+        List<String> variableNameList = new ArrayList<String>();
+        List<String> segmentList = splitPath(requestPath);
+        for (int i = 0; i < segmentList.size(); i++) {
+            String segment = segmentList.get(i);
+            if (WILDCARD.equals(segment)) {// 通配符，只能位于路径末尾
+                if (i != segmentList.size() - 1) {
+                    throw new RuntimeException("wildcard must be the last segment: " + requestPath);
+                }
+                if (node.wildcardChild == null) {
+                    node.wildcardChild = new Node();
+                }
+                node = node.wildcardChild;
+                variableNameList.add(WILDCARD);
+            } else if (segment.startsWith("{") && segment.endsWith("}")) {// 路径变量
+                if (node.variableChild == null) {
+                    node.variableChild = new Node();
+                }
+                node = node.variableChild;
+                variableNameList.add(segment.substring(1, segment.length() - 1));
+            } else {// 字面量
+                Node child = node.literalChildren.get(segment);
+                if (child == null) {
+                    child = new Node();
+                    node.literalChildren.put(segment, child);
+                }
+                node = child;
+            }
+        }
+        node.handler = handler;
+        node.variableNames = variableNameList.toArray(new String[variableNameList.size()]);
+        if (variableNameList.isEmpty()) {
+            StringBuilder sb = new StringBuilder();
+            for (String segment: segmentList) {
+                sb.append('/').append(segment);
+            }
+            staticRouteMap.put(sb.length() == 0 ? "/" : sb.toString(), handler);
+        }
+
+    }
+
+    static int skipSlash(String path, int index) {
+
+        while (index < path.length() && path.charAt(index) == '/') {
+            index++;
+        }
+        return index;
+
+    }
+
+    private static List<String> splitPath(String path) {
+
+        List<String> segmentList = new ArrayList<String>();
+        int start = skipSlash(path, 0);
+        while (start < path.length()) {
+            int end = path.indexOf('/', start);
+            if (end == -1) {
+                end = path.length();
+            }
+            segmentList.add(path.substring(start, end));
+            start = skipSlash(path, end);
+        }
+        return segmentList;
+
+    }
+
+    /**
+     * 前缀树节点（仅在启动时构建，运行时由RouteTable编译后的节点负责匹配）
+     */
+    static final class Node {
+
+        final Map<String, Node> literalChildren = new HashMap<String, Node>();
+        Node variableChild;
+        Node wildcardChild;
+        Handler handler;
+        String[] variableNames;
+
+    }
+
+}
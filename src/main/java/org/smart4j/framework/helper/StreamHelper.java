@@ -0,0 +1,130 @@
+package org.smart4j.framework.helper;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.smart4j.framework.bean.StreamData;
+import org.smart4j.framework.bean.StreamWriter;
+import org.smart4j.framework.util.JsonUtil;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Iterator;
+
+/**
+ * 流式数据助手类（逐条序列化并定期刷新，响应以分块方式传输）
+ */
+public final class StreamHelper {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StreamHelper.class);
+
+    /**
+     * 输出流式数据
+     *
+     * @param streamData
+     *                  流式数据对象
+     * @param response
+     *                  HttpServletResponse
+     */
+    public static void writeStream(StreamData streamData, HttpServletResponse response) {
+
+        try {
+            StreamData.Format format = streamData.getFormat();
+            switch (format) {
+                case NDJSON:
+                    response.setContentType("application/x-ndjson;charset=UTF-8");
+                    break;
+                case SSE:
+                    response.setContentType("text/event-stream;charset=UTF-8");
+                    response.setHeader("Cache-Control", "no-cache");
+                    break;
+                default:
+                    response.setContentType("application/json;charset=UTF-8");
+            }
+            // 不设置 Content-Length，刷新时由容器分块传输
+            JsonGenerator generator = JsonUtil.createGenerator(response.getOutputStream());
+            GeneratorSink sink = new GeneratorSink(generator, streamData);
+            if (format == StreamData.Format.JSON_ARRAY) {
+                generator.writeStartArray();
+            }
+            if (streamData.getWriter() != null) {
+                streamData.getWriter().write(sink);
+            } else {
+                Iterator<?> iterator = streamData.getIterator();
+                while (iterator.hasNext()) {
+                    sink.write(iterator.next());
+                }
+            }
+            if (format == StreamData.Format.JSON_ARRAY) {
+                generator.writeEndArray();
+            }
+            generator.close();// 写出剩余数据（不关闭输出流）
+        } catch (Exception e) {
+            LOGGER.error("write stream failure", e);
+            throw new RuntimeException(e);
+        } finally {
+            closeQuietly(streamData.getCloseable());
+        }
+
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+
+        if (closeable != null) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                LOGGER.error("close stream source failure", e);
+            }
+        }
+
+    }
+
+    /**
+     * 基于 JsonGenerator 的数据输出端
+     */
+    private static class GeneratorSink implements StreamWriter.Sink {
+
+        private final JsonGenerator generator;
+        private final StreamData.Format format;
+        private final String eventName;
+        private final int flushInterval;
+        private int count;
+
+        GeneratorSink(JsonGenerator generator, StreamData streamData) {
+            this.generator = generator;
+            this.format = streamData.getFormat();
+            this.eventName = streamData.getEventName();
+            this.flushInterval = streamData.getFlushInterval();
+        }
+
+        public void write(Object item) throws IOException {
+            switch (format) {
+                case NDJSON:
+                    JsonUtil.writeValue(generator, item);
+                    generator.writeRaw('\n');
+                    break;
+                case SSE:
+                    if (eventName != null) {
+                        generator.writeRaw("event: " + eventName + "\n");
+                    }
+                    generator.writeRaw("data: ");
+                    JsonUtil.writeValue(generator, item);
+                    generator.writeRaw("\n\n");
+                    break;
+                default:
+                    JsonUtil.writeValue(generator, item);
+            }
+            count++;
+            if (format == StreamData.Format.SSE || count % flushInterval == 0) {
+                flush();
+            }
+        }
+
+        public void flush() throws IOException {
+            generator.flush();// 同时刷新输出流，将已写入的数据作为一个分块发送
+        }
+
+    }
+
+}
@@ -4,22 +4,39 @@ import org.apache.commons.fileupload.FileItem;
 import org.apache.commons.fileupload.FileUploadException;
 import org.apache.commons.fileupload.disk.DiskFileItemFactory;
 import org.apache.commons.fileupload.servlet.ServletFileUpload;
+import org.apache.commons.io.FileUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.smart4j.framework.bean.FileParam;
 import org.smart4j.framework.bean.FormParam;
 import org.smart4j.framework.bean.Param;
+import org.smart4j.framework.bean.PartIterator;
+import org.smart4j.framework.util.CodecUtil;
 import org.smart4j.framework.util.CollectionUtil;
 import org.smart4j.framework.util.FileUtil;
-import org.smart4j.framework.util.StreamUtil;
 import org.smart4j.framework.util.StringUtil;
 
 import javax.servlet.ServletContext;
 import javax.servlet.http.HttpServletRequest;
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
 
 /**
  * 文件上传助手类
@@ -30,6 +47,15 @@ public final class UploadHelper {
     // Apache Commons FileUpload提供的Servlet文件上传对象
     private static ServletFileUpload servletFileUpload;
 
+    // 非文件来源时的复制缓冲区大小
+    private static final int BUFFER_SIZE = 256 * 1024;
+
+    // 按内容保存的文件引用（SHA-256 摘要的十六进制形式）
+    private static final Pattern STORED_FILE_PATTERN = Pattern.compile("[0-9a-f]{64}");
+
+    // 批量保存上传文件的线程池（为null时逐个保存）
+    private static ExecutorService uploadExecutor;
+
     /**
      * 初始化
      *
@@ -38,14 +64,47 @@ public final class UploadHelper {
      */
     public static void init(ServletContext servletContext) {
 
-        // 获取应用服务器的临时目录作为上传文件的临时目录
-        File repository = (File) servletContext.getAttribute("javax.servlet.context.tempdir");
-        servletFileUpload = new ServletFileUpload(new DiskFileItemFactory(
-                DiskFileItemFactory.DEFAULT_SIZE_THRESHOLD, repository));
+        // 上传文件的临时目录（未配置时使用应用服务器的临时目录）
+        File repository;
+        String uploadTempDir = ConfigHelper.getAppUploadTempDir();
+        if (StringUtil.isNotEmpty(uploadTempDir)) {
+            repository = new File(uploadTempDir);
+            if (!repository.exists() && !repository.mkdirs()) {
+                LOGGER.warn("can not create upload temp dir: " + uploadTempDir);
+            }
+        } else {
+            repository = (File) servletContext.getAttribute("javax.servlet.context.tempdir");
+        }
+        int sizeThreshold = ConfigHelper.getAppUploadThreshold() * 1024;
+        servletFileUpload = new ServletFileUpload(new DiskFileItemFactory(sizeThreshold, repository));
         int uploadLimit = ConfigHelper.getAppUploadLimit();
         if (uploadLimit != 0) {
             servletFileUpload.setFileSizeMax(uploadLimit * 1024 * 1024);// 设置文件上传大小限制
         }
+        int uploadThreads = ConfigHelper.getAppUploadThreads();
+        if (uploadThreads > 0) {
+            uploadExecutor = Executors.newFixedThreadPool(uploadThreads, new ThreadFactory() {
+                private final AtomicInteger threadNumber = new AtomicInteger();
+
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "smart-upload-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+
+    }
+
+    /**
+     * 销毁
+     */
+    public static void destroy() {
+
+        if (uploadExecutor != null) {
+            uploadExecutor.shutdown();
+        }
 
     }
 
@@ -73,7 +132,24 @@ public final class UploadHelper {
      */
     public static Param createParam(HttpServletRequest request) throws IOException {
 
-        List<FormParam> formParamList = new ArrayList<FormParam>();
+        return createParam(request, new ArrayList<FormParam>());
+
+    }
+
+    /**
+     * 创建请求对象（包含路径变量）
+     *
+     * @param request
+     *                  HttpServletRequest
+     * @param pathParamList
+     *                  路径变量列表
+     * @return
+     *
+     * @throws IOException
+     */
+    public static Param createParam(HttpServletRequest request, List<FormParam> pathParamList) throws IOException {
+
+        List<FormParam> formParamList = new ArrayList<FormParam>(pathParamList);
         List<FileParam> fileParamList = new ArrayList<FileParam>();
 
         // 获取所有参数集合
@@ -94,6 +170,8 @@ public final class UploadHelper {
                                 if (StringUtil.isNotEmpty(fileName)) {
                                     long fileSize = fileItem.getSize();
                                     String contentType = fileItem.getContentType();
+                                    // 已写入临时文件时为 FileInputStream，保存时可直接在通道间传输；
+                                    // 已打开的输入流在临时文件被删除后仍可读取，因此不保留临时文件的路径
                                     InputStream inputStream = fileItem.getInputStream();
                                     fileParamList.add(new FileParam(fieldName, fileName, fileSize,
                                             contentType, inputStream));
@@ -111,6 +189,26 @@ public final class UploadHelper {
 
     }
 
+    /**
+     * 创建流式上传的表单项迭代器（直接读取请求体，上传文件不经过内存或临时文件缓存）
+     *
+     * @param request
+     *                  HttpServletRequest
+     * @return
+     *
+     * @throws IOException
+     */
+    public static PartIterator createPartIterator(HttpServletRequest request) throws IOException {
+
+        try {
+            return new PartIterator(servletFileUpload.getItemIterator(request));
+        } catch (FileUploadException e) {
+            LOGGER.error("create part iterator failure", e);
+            throw new RuntimeException(e);
+        }
+
+    }
+
     /**
      * 上传文件
      *
@@ -121,13 +219,38 @@ public final class UploadHelper {
      */
     public static void uploadFile(String basePath, FileParam fileParam) {
 
+        uploadFile(basePath, fileParam, ConfigHelper.isAppUploadAtomic());
+
+    }
+
+    /**
+     * 上传文件
+     *
+     * @param basePath
+     *                  上传路径
+     * @param fileParam
+     *                  文件对象信息
+     * @param atomic
+     *                  是否先写入临时文件，完成后再重命名为目标文件
+     */
+    public static void uploadFile(String basePath, FileParam fileParam, boolean atomic) {
+
         try {
             if (fileParam != null) {
                 String filePath = basePath + fileParam.getFileName();
-                FileUtil.createFile(filePath);
-                InputStream inputStream = new BufferedInputStream(fileParam.getInputStream());
-                OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(filePath));
-                StreamUtil.copyStream(inputStream, outputStream);
+                File file = FileUtil.createFile(filePath);
+                if (atomic) {
+                    // 前缀固定（目标文件名可能不足3个字符，不能作为临时文件前缀）
+                    File tempFile = File.createTempFile("upload", ".uploading", file.getParentFile());
+                    try {
+                        writeFile(fileParam, tempFile);
+                        moveFile(tempFile, file);
+                    } finally {
+                        Files.deleteIfExists(tempFile.toPath());
+                    }
+                } else {
+                    writeFile(fileParam, file);
+                }
             }
         } catch (Exception e) {
             LOGGER.error("upload file failure", e);
@@ -146,10 +269,52 @@ public final class UploadHelper {
      */
     public static void uploadFile(String basePath, List<FileParam> fileParamList) {
 
+        uploadFile(basePath, fileParamList, ConfigHelper.isAppUploadAtomic());
+
+    }
+
+    /**
+     * 批量上传文件（配置了上传线程数时并行保存）
+     *
+     * @param basePath
+     *                      上传路径
+     * @param fileParamList
+     *                      文件信息列表
+     * @param atomic
+     *                      是否先写入临时文件，完成后再重命名为目标文件
+     */
+    public static void uploadFile(final String basePath, List<FileParam> fileParamList, final boolean atomic) {
+
         try {
             if (CollectionUtil.isNotEmpty(fileParamList)) {
-                for (FileParam fileParam: fileParamList) {
-                    uploadFile(basePath, fileParam);
+                if (uploadExecutor == null || fileParamList.size() == 1) {
+                    for (FileParam fileParam: fileParamList) {
+                        uploadFile(basePath, fileParam, atomic);
+                    }
+                } else {
+                    List<Future<?>> futureList = new ArrayList<Future<?>>(fileParamList.size());
+                    for (final FileParam fileParam: fileParamList) {
+                        futureList.add(uploadExecutor.submit(new Runnable() {
+                            @Override
+                            public void run() {
+                                uploadFile(basePath, fileParam, atomic);
+                            }
+                        }));
+                    }
+                    // 等待全部文件保存完成，并抛出第一个失败的异常
+                    Exception failure = null;
+                    for (Future<?> future: futureList) {
+                        try {
+                            future.get();
+                        } catch (ExecutionException e) {
+                            if (failure == null) {
+                                failure = e;
+                            }
+                        }
+                    }
+                    if (failure != null) {
+                        throw failure;
+                    }
                 }
             }
         } catch (Exception e) {
@@ -159,4 +324,175 @@ public final class UploadHelper {
 
     }
 
+    /**
+     * 按内容保存上传文件：写入时计算 SHA-256 摘要，相同内容只保存一份
+     *
+     * 文件保存在 basePath/摘要前两位/摘要，可通过 {@link #getStoredFile} 获取
+     *
+     * @param basePath
+     *                  存储路径
+     * @param fileParam
+     *                  文件对象信息
+     * @return 文件引用（SHA-256 摘要）
+     */
+    public static String storeFile(String basePath, FileParam fileParam) {
+
+        String digest;
+        try {
+            File baseDir = new File(basePath);
+            FileUtils.forceMkdir(baseDir);
+            File tempFile = File.createTempFile("upload", ".uploading", baseDir);
+            try {
+                digest = writeFileWithDigest(fileParam, tempFile);
+                File file = getStoredFile(basePath, digest);
+                if (file.exists()) {// 已存在相同内容的文件，丢弃本次写入
+                    LOGGER.debug("duplicate upload: " + digest);
+                } else {
+                    FileUtils.forceMkdir(file.getParentFile());
+                    moveFile(tempFile, file);
+                }
+            } finally {
+                Files.deleteIfExists(tempFile.toPath());
+            }
+        } catch (Exception e) {
+            LOGGER.error("store file failure", e);
+            throw new RuntimeException(e);
+        }
+        return digest;
+
+    }
+
+    /**
+     * 批量按内容保存上传文件
+     *
+     * @param basePath
+     *                      存储路径
+     * @param fileParamList
+     *                      文件信息列表
+     * @return 文件引用列表（与文件信息列表一一对应）
+     */
+    public static List<String> storeFile(String basePath, List<FileParam> fileParamList) {
+
+        List<String> digestList = new ArrayList<String>();
+        if (CollectionUtil.isNotEmpty(fileParamList)) {
+            for (FileParam fileParam: fileParamList) {
+                digestList.add(storeFile(basePath, fileParam));
+            }
+        }
+        return digestList;
+
+    }
+
+    /**
+     * 根据文件引用获取按内容保存的文件
+     *
+     * @param basePath
+     *                  存储路径
+     * @param digest
+     *                  文件引用（SHA-256 摘要）
+     * @return
+     */
+    public static File getStoredFile(String basePath, String digest) {
+
+        // 文件引用可能来自外部输入，只接受 64 位小写十六进制字符串，以免访问存储路径之外的文件
+        if (digest == null || !STORED_FILE_PATTERN.matcher(digest).matches()) {
+            throw new RuntimeException("invalid stored file reference: " + digest);
+        }
+        File file = new File(new File(basePath, digest.substring(0, 2)), digest);
+        try {
+            String basePathPrefix = new File(basePath).getCanonicalPath() + File.separator;
+            if (!file.getCanonicalPath().startsWith(basePathPrefix)) {
+                throw new RuntimeException("stored file is outside the base path: " + digest);
+            }
+        } catch (IOException e) {
+            LOGGER.error("get stored file failure", e);
+            throw new RuntimeException(e);
+        }
+        return file;
+
+    }
+
+    /**
+     * 将上传文件写入目标文件
+     *
+     * 来源为临时文件（FileInputStream）时直接在文件通道间传输（由操作系统完成复制），
+     * 否则通过通道读入直接缓冲区再写入文件通道（写入时无需再复制到临时的直接缓冲区）
+     */
+    private static void writeFile(FileParam fileParam, File file) throws IOException {
+
+        InputStream inputStream = fileParam.getInputStream();
+        FileChannel outChannel = new FileOutputStream(file).getChannel();
+        try {
+            if (inputStream instanceof FileInputStream) {
+                FileChannel inChannel = ((FileInputStream) inputStream).getChannel();
+                long position = inChannel.position();
+                long size = inChannel.size();
+                while (position < size) {
+                    position += inChannel.transferTo(position, size - position, outChannel);
+                }
+            } else {
+                ReadableByteChannel inChannel = Channels.newChannel(inputStream);
+                ByteBuffer byteBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+                while (inChannel.read(byteBuffer) != -1) {
+                    byteBuffer.flip();
+                    while (byteBuffer.hasRemaining()) {
+                        outChannel.write(byteBuffer);
+                    }
+                    byteBuffer.clear();
+                }
+            }
+        } finally {
+            try {
+                inputStream.close();
+            } finally {
+                outChannel.close();
+            }
+        }
+
+    }
+
+    /**
+     * 将上传文件写入目标文件，同时计算内容的 SHA-256 摘要
+     */
+    private static String writeFileWithDigest(FileParam fileParam, File file) throws Exception {
+
+        MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+        InputStream inputStream = fileParam.getInputStream();
+        FileChannel outChannel = new FileOutputStream(file).getChannel();
+        try {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            ByteBuffer byteBuffer = ByteBuffer.wrap(buffer);
+            int length;
+            while ((length = inputStream.read(buffer, 0, buffer.length)) != -1) {
+                messageDigest.update(buffer, 0, length);
+                byteBuffer.clear().limit(length);
+                while (byteBuffer.hasRemaining()) {
+                    outChannel.write(byteBuffer);
+                }
+            }
+        } finally {
+            try {
+                inputStream.close();
+            } finally {
+                outChannel.close();
+            }
+        }
+        return CodecUtil.toHex(messageDigest.digest());
+
+    }
+
+    /**
+     * 将临时文件重命名为目标文件（文件系统不支持原子重命名时退化为普通重命名）
+     */
+    private static void moveFile(File source, File target) throws IOException {
+
+        try {
+            Files.move(source.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+
+    }
+
 }
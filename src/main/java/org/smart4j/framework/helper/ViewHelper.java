@@ -0,0 +1,51 @@
+package org.smart4j.framework.helper;
+
+import org.smart4j.framework.util.ClassUtil;
+import org.smart4j.framework.util.ReflectionUtil;
+import org.smart4j.framework.view.JspViewRenderer;
+import org.smart4j.framework.view.TemplateViewRenderer;
+import org.smart4j.framework.view.ViewRenderer;
+
+import javax.servlet.ServletContext;
+
+/**
+ * 视图助手类
+ */
+public final class ViewHelper {
+
+    private static ViewRenderer viewRenderer;
+
+    /**
+     * 初始化（根据配置创建视图渲染器：jsp、template 或 ViewRenderer 实现类的类名）
+     *
+     * @param servletContext
+     *                          ServletContext对象
+     */
+    public static void init(ServletContext servletContext) {
+
+        String renderer = ConfigHelper.getAppViewRenderer();
+        ViewRenderer viewRenderer;
+        if ("jsp".equals(renderer)) {
+            viewRenderer = new JspViewRenderer();
+        } else if ("template".equals(renderer)) {
+            viewRenderer = new TemplateViewRenderer();
+        } else {
+            viewRenderer = (ViewRenderer) ReflectionUtil.newInstance(ClassUtil.loadClass(renderer, true));
+        }
+        viewRenderer.init(servletContext);
+        ViewHelper.viewRenderer = viewRenderer;
+
+    }
+
+    /**
+     * 获取视图渲染器
+     *
+     * @return
+     */
+    public static ViewRenderer getViewRenderer() {
+
+        return viewRenderer;
+
+    }
+
+}
@@ -12,21 +12,23 @@ public abstract class AspectProxy implements Proxy {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AspectProxy.class);
 
-    public final Object doProxy(ProxyChain proxyChain) throws Throwable {
+    // 切点（由Aspect注解中的切点表达式编译得到）
+    private Pointcut pointcut;
+
+    public final Object doProxy(ProxyChain proxyChain, Object targetObject, Object[] params) throws Throwable {
 
         Object result = null;
         Class<?> cls = proxyChain.getTargetClass();
         Method method = proxyChain.getTargetMethod();
-        Object[] params = proxyChain.getMethodParams();
 
         begin();
         try {
             if (intercept(cls, method, params)) {
                 before(cls, method, params);
-                result = proxyChain.doProxyChain();
+                result = proxyChain.doProxyChain(targetObject, params);
                 after(cls, method, params);
             } else {
-                result = proxyChain.doProxyChain();
+                result = proxyChain.doProxyChain(targetObject, params);
             }
         } catch (Exception e) {
             LOGGER.error("proxy failure", e);
@@ -39,6 +41,33 @@ public abstract class AspectProxy implements Proxy {
 
     }
 
+    /**
+     * 是否代理目标类的指定方法（静态判断，仅在创建代理类时调用一次；需要根据参数判断时覆盖intercept方法）
+     *
+     * @param cls
+     *                  目标类
+     * @param method
+     *                  目标方法
+     * @return 设置了切点时返回切点的匹配结果
+     */
+    public boolean supports(Class<?> cls, Method method) {
+
+        return pointcut == null || pointcut.matches(cls, method);
+
+    }
+
+    public Pointcut getPointcut() {
+
+        return pointcut;
+
+    }
+
+    public void setPointcut(Pointcut pointcut) {
+
+        this.pointcut = pointcut;
+
+    }
+
     public void begin() {}
 
     public boolean intercept(Class<?> cls, Method method, Object[] params) throws Throwable {
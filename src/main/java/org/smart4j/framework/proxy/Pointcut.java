@@ -0,0 +1,30 @@
+package org.smart4j.framework.proxy;
+
+import java.lang.reflect.Method;
+
+/**
+ * 切点（由切点表达式编译得到，在创建代理类时判断哪些方法需要代理）
+ */
+public interface Pointcut {
+
+    /**
+     * 目标类中是否可能存在匹配的方法（用于预先筛选目标类）
+     *
+     * @param cls
+     *                  目标类
+     * @return
+     */
+    boolean matches(Class<?> cls);
+
+    /**
+     * 目标类的指定方法是否匹配
+     *
+     * @param cls
+     *                  目标类
+     * @param method
+     *                  目标方法
+     * @return
+     */
+    boolean matches(Class<?> cls, Method method);
+
+}
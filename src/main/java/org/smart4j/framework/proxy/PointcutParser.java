@@ -0,0 +1,426 @@
+package org.smart4j.framework.proxy;
+
+import org.smart4j.framework.util.ClassUtil;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * 切点表达式解析器
+ *
+ * 支持以下表达式，可使用 &&、||、! 与括号组合：
+ * execution([修饰符] 返回类型 [类名.]方法名(参数类型列表)) 匹配方法，例如 execution(* com.example..*Service.get*(..))；
+ * within(类名) 匹配类中的所有方法；@annotation(注解类名) 匹配带有该注解的方法；@within(注解类名) 匹配带有该注解的类中的所有方法。
+ * 类名中 * 匹配名称中的任意字符（不包括“.”），.. 匹配任意层级的包；不包含“.”的类名只匹配简单类名（例如 String、*Service、int[]）；
+ * 参数类型列表中 .. 匹配任意个参数
+ */
+public final class PointcutParser {
+
+    private final String expression;
+    private int position;
+
+    private PointcutParser(String expression) {
+        this.expression = expression;
+    }
+
+    /**
+     * 解析切点表达式
+     *
+     * @param expression
+     *                  切点表达式
+     * @return
+     */
+    public static Pointcut parse(String expression) {
+
+        PointcutParser parser = new PointcutParser(expression);
+        Pointcut pointcut = parser.parseOr();
+        parser.skipWhitespace();
+        if (parser.position < expression.length()) {
+            throw parser.error("unexpected '" + expression.charAt(parser.position) + "'");
+        }
+        return pointcut;
+
+    }
+
+    private Pointcut parseOr() {
+
+        Pointcut pointcut = parseAnd();
+        while (consume("||")) {
+            pointcut = new OrPointcut(pointcut, parseAnd());
+        }
+        return pointcut;
+
+    }
+
+    private Pointcut parseAnd() {
+
+        Pointcut pointcut = parseNot();
+        while (consume("&&")) {
+            pointcut = new AndPointcut(pointcut, parseNot());
+        }
+        return pointcut;
+
+    }
+
+    private Pointcut parseNot() {
+
+        if (consume("!")) {
+            return new NotPointcut(parseNot());
+        }
+        if (consume("(")) {
+            Pointcut pointcut = parseOr();
+            if (!consume(")")) {
+                throw error("')' expected");
+            }
+            return pointcut;
+        }
+        return parseDesignator();
+
+    }
+
+    private Pointcut parseDesignator() {
+
+        skipWhitespace();
+        int start = position;
+        while (position < expression.length()
+                && (Character.isLetter(expression.charAt(position)) || expression.charAt(position) == '@')) {
+            position++;
+        }
+        String name = expression.substring(start, position);
+        if (name.isEmpty() || !consume("(")) {
+            throw error("pointcut designator expected");
+        }
+        // 读取括号中的内容（execution 中包含参数列表的括号）
+        int bodyStart = position;
+        int depth = 1;
+        while (position < expression.length() && depth > 0) {
+            char c = expression.charAt(position++);
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            }
+        }
+        if (depth > 0) {
+            throw error("')' expected");
+        }
+        String body = expression.substring(bodyStart, position - 1).trim();
+        if ("execution".equals(name)) {
+            return createExecution(body);
+        } else if ("within".equals(name)) {
+            return new WithinPointcut(new TypePattern(body));
+        } else if ("@annotation".equals(name)) {
+            return new AnnotationPointcut(loadAnnotation(body), false);
+        } else if ("@within".equals(name)) {
+            return new AnnotationPointcut(loadAnnotation(body), true);
+        }
+        throw error("unknown pointcut designator '" + name + "'");
+
+    }
+
+    /**
+     * 解析 execution([修饰符] 返回类型 [类名.]方法名(参数类型列表))
+     */
+    private Pointcut createExecution(String body) {
+
+        int paramStart = body.indexOf('(');
+        int paramEnd = body.lastIndexOf(')');
+        if (paramStart < 0 || paramEnd < paramStart) {
+            throw error("parameter list expected in execution(" + body + ")");
+        }
+        String[] tokens = body.substring(0, paramStart).trim().split("\\s+");
+        if (tokens.length < 2) {
+            throw error("return type and method name expected in execution(" + body + ")");
+        }
+        int modifiers = 0;
+        for (int i = 0; i < tokens.length - 2; i++) {
+            if ("public".equals(tokens[i])) {
+                modifiers |= Modifier.PUBLIC;
+            } else if ("protected".equals(tokens[i])) {
+                modifiers |= Modifier.PROTECTED;
+            } else {
+                throw error("unsupported modifier '" + tokens[i] + "'");
+            }
+        }
+        TypePattern returnType = new TypePattern(tokens[tokens.length - 2]);
+        String declaration = tokens[tokens.length - 1];
+        int dot = declaration.lastIndexOf('.');
+        TypePattern declaringType = null;
+        if (dot > 0) {
+            String typeName = declaration.substring(0, dot);
+            // com.example..get* 表示 com.example 及其子包中的任意类
+            declaringType = new TypePattern(typeName.endsWith(".") ? typeName + ".*" : typeName);
+        }
+        Pattern methodName = Pattern.compile(toRegex(declaration.substring(dot + 1), ".*"));
+        List<TypePattern> paramTypeList = new ArrayList<TypePattern>();
+        String paramText = body.substring(paramStart + 1, paramEnd).trim();
+        if (!paramText.isEmpty()) {
+            for (String paramType: paramText.split(",")) {
+                paramType = paramType.trim();
+                paramTypeList.add("..".equals(paramType) ? null : new TypePattern(paramType));
+            }
+        }
+        TypePattern[] paramTypes = paramTypeList.toArray(new TypePattern[paramTypeList.size()]);
+        return new ExecutionPointcut(modifiers, returnType, declaringType, methodName, paramTypes);
+
+    }
+
+    @SuppressWarnings("unchecked")
+    private Class<? extends Annotation> loadAnnotation(String className) {
+
+        Class<?> cls = ClassUtil.loadClass(className, false);
+        if (!cls.isAnnotation()) {
+            throw error(className + " is not an annotation");
+        }
+        return (Class<? extends Annotation>) cls;
+
+    }
+
+    private boolean consume(String token) {
+
+        skipWhitespace();
+        if (expression.startsWith(token, position)) {
+            position += token.length();
+            return true;
+        }
+        return false;
+
+    }
+
+    private void skipWhitespace() {
+
+        while (position < expression.length() && Character.isWhitespace(expression.charAt(position))) {
+            position++;
+        }
+
+    }
+
+    private RuntimeException error(String message) {
+
+        return new RuntimeException("pointcut parse failure: " + message + " at " + position + " in \"" + expression + "\"");
+
+    }
+
+    /**
+     * 将通配符转换为正则表达式
+     *
+     * @param glob
+     *                  通配符
+     * @param star
+     *                  * 对应的正则表达式
+     * @return
+     */
+    private static String toRegex(String glob, String star) {
+
+        StringBuilder regex = new StringBuilder();
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            if (c == '.' && glob.startsWith("..", i)) {
+                regex.append("\\.(?:.*\\.)?");
+                i++;
+            } else if (c == '*') {
+                regex.append(star);
+            } else if (Character.isLetterOrDigit(c) || c == '_') {
+                regex.append(c);
+            } else {
+                regex.append('\\').append(c);
+            }
+        }
+        return regex.toString();
+
+    }
+
+    /**
+     * 类型匹配模式
+     */
+    private static class TypePattern {
+
+        private final Pattern pattern;
+        private final boolean simpleName;
+
+        TypePattern(String text) {
+            this.pattern = "*".equals(text) ? null : Pattern.compile(toRegex(text, "[^.]*"));
+            this.simpleName = text.indexOf('.') < 0;
+        }
+
+        boolean matches(Class<?> cls) {
+            return pattern == null || pattern.matcher(getTypeName(cls)).matches();
+        }
+
+        private String getTypeName(Class<?> cls) {
+            if (cls.isArray()) {
+                return getTypeName(cls.getComponentType()) + "[]";
+            }
+            String name = cls.getName();
+            return simpleName ? name.substring(name.lastIndexOf('.') + 1) : name;
+        }
+
+    }
+
+    /**
+     * execution
+     */
+    private static class ExecutionPointcut implements Pointcut {
+
+        private final int modifiers;
+        private final TypePattern returnType;
+        private final TypePattern declaringType;
+        private final Pattern methodName;
+        private final TypePattern[] paramTypes;// null 元素表示 ..
+
+        ExecutionPointcut(int modifiers, TypePattern returnType, TypePattern declaringType, Pattern methodName,
+                          TypePattern[] paramTypes) {
+            this.modifiers = modifiers;
+            this.returnType = returnType;
+            this.declaringType = declaringType;
+            this.methodName = methodName;
+            this.paramTypes = paramTypes;
+        }
+
+        public boolean matches(Class<?> cls) {
+            return declaringType == null || declaringType.matches(cls);
+        }
+
+        public boolean matches(Class<?> cls, Method method) {
+            return matches(cls)
+                    && (method.getModifiers() & modifiers) == modifiers
+                    && methodName.matcher(method.getName()).matches()
+                    && returnType.matches(method.getReturnType())
+                    && matchParams(0, method.getParameterTypes(), 0);
+        }
+
+        private boolean matchParams(int patternIndex, Class<?>[] types, int typeIndex) {
+            if (patternIndex == paramTypes.length) {
+                return typeIndex == types.length;
+            }
+            if (paramTypes[patternIndex] == null) {// .. 匹配任意个参数
+                for (int i = typeIndex; i <= types.length; i++) {
+                    if (matchParams(patternIndex + 1, types, i)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            return typeIndex < types.length
+                    && paramTypes[patternIndex].matches(types[typeIndex])
+                    && matchParams(patternIndex + 1, types, typeIndex + 1);
+        }
+
+    }
+
+    /**
+     * within
+     */
+    private static class WithinPointcut implements Pointcut {
+
+        private final TypePattern type;
+
+        WithinPointcut(TypePattern type) {
+            this.type = type;
+        }
+
+        public boolean matches(Class<?> cls) {
+            return type.matches(cls);
+        }
+
+        public boolean matches(Class<?> cls, Method method) {
+            return type.matches(cls);
+        }
+
+    }
+
+    /**
+     * @annotation 与 @within
+     */
+    private static class AnnotationPointcut implements Pointcut {
+
+        private final Class<? extends Annotation> annotationClass;
+        private final boolean classLevel;
+
+        AnnotationPointcut(Class<? extends Annotation> annotationClass, boolean classLevel) {
+            this.annotationClass = annotationClass;
+            this.classLevel = classLevel;
+        }
+
+        public boolean matches(Class<?> cls) {
+            return !classLevel || cls.isAnnotationPresent(annotationClass);
+        }
+
+        public boolean matches(Class<?> cls, Method method) {
+            return classLevel ? cls.isAnnotationPresent(annotationClass) : method.isAnnotationPresent(annotationClass);
+        }
+
+    }
+
+    /**
+     * &&
+     */
+    private static class AndPointcut implements Pointcut {
+
+        private final Pointcut left;
+        private final Pointcut right;
+
+        AndPointcut(Pointcut left, Pointcut right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        public boolean matches(Class<?> cls) {
+            return left.matches(cls) && right.matches(cls);
+        }
+
+        public boolean matches(Class<?> cls, Method method) {
+            return left.matches(cls, method) && right.matches(cls, method);
+        }
+
+    }
+
+    /**
+     * ||
+     */
+    private static class OrPointcut implements Pointcut {
+
+        private final Pointcut left;
+        private final Pointcut right;
+
+        OrPointcut(Pointcut left, Pointcut right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        public boolean matches(Class<?> cls) {
+            return left.matches(cls) || right.matches(cls);
+        }
+
+        public boolean matches(Class<?> cls, Method method) {
+            return left.matches(cls, method) || right.matches(cls, method);
+        }
+
+    }
+
+    /**
+     * !
+     */
+    private static class NotPointcut implements Pointcut {
+
+        private final Pointcut pointcut;
+
+        NotPointcut(Pointcut pointcut) {
+            this.pointcut = pointcut;
+        }
+
+        public boolean matches(Class<?> cls) {
+            return true;// 无法仅根据类判断取反后的结果
+        }
+
+        public boolean matches(Class<?> cls, Method method) {
+            return !pointcut.matches(cls, method);
+        }
+
+    }
+
+}
@@ -1,10 +1,36 @@
 package org.smart4j.framework.proxy;
 
+import java.lang.reflect.Method;
+
 /**
  * 代理接口
  */
 public interface Proxy {
 
-    Object doProxy(ProxyChain proxyChain) throws Throwable;
+    /**
+     * 是否代理目标类的指定方法（创建代理类时对每个方法调用一次，返回false的方法不经过该代理）
+     *
+     * @param cls
+     *                  目标类
+     * @param method
+     *                  目标方法
+     * @return
+     */
+    boolean supports(Class<?> cls, Method method);
+
+    /**
+     * 执行代理
+     *
+     * @param proxyChain
+     *                  后续的代理链（调用其doProxyChain方法继续执行）
+     * @param targetObject
+     *                  目标对象
+     * @param methodParams
+     *                  方法参数
+     * @return
+     *
+     * @throws Throwable
+     */
+    Object doProxy(ProxyChain proxyChain, Object targetObject, Object[] methodParams) throws Throwable;
 
 }
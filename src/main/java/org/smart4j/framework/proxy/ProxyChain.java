@@ -3,38 +3,56 @@ package org.smart4j.framework.proxy;
 import net.sf.cglib.proxy.MethodProxy;
 
 import java.lang.reflect.Method;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
  * 代理链
+ *
+ * 创建代理类时为每个被代理的方法预先链接好的不可变节点：每个节点持有一个代理及其后续节点，
+ * 最后一个节点调用目标方法；目标对象与方法参数在调用时传入，执行过程中不创建任何对象
  */
-public class ProxyChain {
+public final class ProxyChain {
 
     private final Class<?> targetClass;
-    private final Object targetObject;
     private final Method targetMethod;
     private final MethodProxy methodProxy;
-    private final Object[] methodParams;
 
-    private List<Proxy> proxyList = new ArrayList<Proxy>();
-    private int proxyIndex = 0;
+    private final Proxy proxy;
+    private final ProxyChain next;
 
-    public ProxyChain(Class<?> targetClass, Object targetObject, Method targetMethod,
-                      MethodProxy methodProxy, Object[] methodParams, List<Proxy> proxyList) {
+    private ProxyChain(Class<?> targetClass, Method targetMethod, MethodProxy methodProxy,
+                       Proxy proxy, ProxyChain next) {
 
         this.targetClass = targetClass;
-        this.targetObject = targetObject;
         this.targetMethod = targetMethod;
         this.methodProxy = methodProxy;
-        this.methodParams = methodParams;
-        this.proxyList = proxyList;
+        this.proxy = proxy;
+        this.next = next;
 
     }
 
-    public Object[] getMethodParams() {
-
-        return methodParams;
+    /**
+     * 创建代理链
+     *
+     * @param targetClass
+     *                  目标类
+     * @param targetMethod
+     *                  目标方法
+     * @param methodProxy
+     *                  目标方法的方法代理（用于调用父类方法）
+     * @param proxyList
+     *                  按执行顺序排列的代理列表
+     * @return 代理链的第一个节点
+     */
+    public static ProxyChain create(Class<?> targetClass, Method targetMethod, MethodProxy methodProxy,
+                                    List<Proxy> proxyList) {
+
+        Proxy[] proxies = proxyList.toArray(new Proxy[proxyList.size()]);
+        ProxyChain chain = new ProxyChain(targetClass, targetMethod, methodProxy, null, null);
+        for (int i = proxies.length - 1; i >= 0; i--) {// 由后向前链接
+            chain = new ProxyChain(targetClass, targetMethod, methodProxy, proxies[i], chain);
+        }
+        return chain;
 
     }
 
@@ -50,15 +68,23 @@ public class ProxyChain {
 
     }
 
-    public Object doProxyChain() throws Throwable {
-
-        Object methodResult;
-        if (proxyIndex < proxyList.size()) {
-            methodResult = proxyList.get(proxyIndex++).doProxy(this);
-        } else {
-            methodResult = methodProxy.invokeSuper(targetObject, methodParams);
+    /**
+     * 执行代理链中的当前节点（最后一个节点调用目标方法）
+     *
+     * @param targetObject
+     *                  目标对象
+     * @param methodParams
+     *                  方法参数
+     * @return
+     *
+     * @throws Throwable
+     */
+    public Object doProxyChain(Object targetObject, Object[] methodParams) throws Throwable {
+
+        if (proxy != null) {
+            return proxy.doProxy(next, targetObject, methodParams);
         }
-        return methodResult;
+        return methodProxy.invokeSuper(targetObject, methodParams);
 
     }
 
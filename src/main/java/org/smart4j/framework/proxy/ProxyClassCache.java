@@ -0,0 +1,288 @@
+package org.smart4j.framework.proxy;
+
+import net.sf.cglib.core.DefaultGeneratorStrategy;
+import net.sf.cglib.core.ReflectUtils;
+import net.sf.cglib.proxy.Enhancer;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.ClassUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.smart4j.framework.helper.ConfigHelper;
+import org.smart4j.framework.util.CodecUtil;
+import org.smart4j.framework.util.StringUtil;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 代理类缓存（将生成的代理类字节码保存到本地目录，之后启动时直接加载，无需再生成字节码）
+ *
+ * 缓存键由目标类及其父类、接口的字节码、代理列表与各方法的回调下标计算得到，
+ * 任意一项发生变化时重新生成代理类并替换旧的缓存文件。
+ * 缓存文件中保存对缓存键、类名与字节码的签名（配置了密钥时为 HMAC-SHA256，否则为 SHA-256 摘要），加载前先校验签名
+ */
+public final class ProxyClassCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProxyClassCache.class);
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static final String CACHE_DIR = ConfigHelper.getAppProxyCacheDir();
+
+    private static final String CACHE_SECRET = ConfigHelper.getAppProxyCacheSecret();
+
+    /**
+     * 是否启用代理类缓存
+     *
+     * @return
+     */
+    public static boolean isEnabled() {
+
+        return StringUtil.isNotEmpty(CACHE_DIR);
+
+    }
+
+    /**
+     * 获取代理类（优先从缓存加载，缓存不存在或已失效时生成并写入缓存）
+     *
+     * @param enhancer
+     *                  已设置好父类、回调过滤器与回调类型的Enhancer
+     * @param targetClass
+     *                  目标类
+     * @param proxyList
+     *                  目标类的代理列表
+     * @param indexMap
+     *                  方法与回调下标之间的映射关系
+     * @return
+     */
+    public static Class<?> createClass(Enhancer enhancer, Class<?> targetClass, List<Proxy> proxyList,
+                                       Map<Method, Integer> indexMap) {
+
+        String key = createKey(targetClass, proxyList, indexMap);
+        if (key == null) {// 无法读取目标类的字节码
+            return enhancer.createClass();
+        }
+        File cacheDir = new File(CACHE_DIR);
+        File cacheFile = new File(cacheDir, targetClass.getName() + "." + key);
+        if (cacheFile.isFile()) {
+            try {
+                Class<?> proxyClass = loadClass(cacheFile, key, targetClass.getClassLoader());
+                LOGGER.debug("load proxy class from cache: {}", proxyClass.getName());
+                return proxyClass;
+            } catch (Throwable e) {// 缓存文件损坏、签名不符或类已存在，重新生成
+                LOGGER.warn("load proxy class from cache failure: " + cacheFile, e);
+                cacheFile.delete();
+            }
+        }
+        CaptureGeneratorStrategy strategy = new CaptureGeneratorStrategy();
+        enhancer.setStrategy(strategy);
+        Class<?> proxyClass = enhancer.createClass();
+        if (strategy.getBytes() != null) {// 取自CGLIB内存缓存时不会生成字节码
+            try {
+                saveClass(cacheDir, cacheFile, key, proxyClass.getName(), strategy.getBytes());
+                removeStaleFiles(cacheDir, targetClass.getName(), cacheFile);
+            } catch (Exception e) {
+                LOGGER.warn("save proxy class to cache failure: " + cacheFile, e);
+            }
+        }
+        return proxyClass;
+
+    }
+
+    /**
+     * 计算缓存键
+     */
+    private static String createKey(Class<?> targetClass, List<Proxy> proxyList, Map<Method, Integer> indexMap) {
+
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            messageDigest.update(String.valueOf(Enhancer.class.getPackage().getImplementationVersion()).getBytes(UTF_8));
+            List<Class<?>> classList = new ArrayList<Class<?>>();
+            classList.add(targetClass);
+            classList.addAll(ClassUtils.getAllSuperclasses(targetClass));
+            classList.addAll(ClassUtils.getAllInterfaces(targetClass));
+            for (Class<?> cls: classList) {
+                if (cls.getClassLoader() == null) {// JDK中的类
+                    continue;
+                }
+                byte[] bytes = getClassBytes(cls);
+                if (bytes == null) {
+                    return null;
+                }
+                messageDigest.update(cls.getName().getBytes(UTF_8));
+                messageDigest.update(bytes);
+            }
+            for (Proxy proxy: proxyList) {
+                messageDigest.update(proxy.getClass().getName().getBytes(UTF_8));
+            }
+            for (Map.Entry<Method, Integer> indexEntry: indexMap.entrySet()) {
+                String signature = ReflectUtils.getSignature(indexEntry.getKey()) + "=" + indexEntry.getValue();
+                messageDigest.update(signature.getBytes(UTF_8));
+            }
+            return CodecUtil.toHex(messageDigest.digest());
+        } catch (Exception e) {
+            LOGGER.warn("create proxy class cache key failure", e);
+            return null;
+        }
+
+    }
+
+    private static byte[] getClassBytes(Class<?> cls) throws Exception {
+
+        InputStream inputStream = cls.getClassLoader().getResourceAsStream(cls.getName().replace('.', '/') + ".class");
+        if (inputStream == null) {
+            return null;
+        }
+        try {
+            return IOUtils.toByteArray(inputStream);
+        } finally {
+            inputStream.close();
+        }
+
+    }
+
+    /**
+     * 读取缓存文件，校验签名后定义代理类
+     */
+    private static Class<?> loadClass(File cacheFile, String key, ClassLoader classLoader) throws Exception {
+
+        String className;
+        byte[] bytes;
+        byte[] signature;
+        DataInputStream inputStream = new DataInputStream(new FileInputStream(cacheFile));
+        try {
+            className = inputStream.readUTF();
+            bytes = new byte[readLength(inputStream, cacheFile)];
+            inputStream.readFully(bytes);
+            signature = new byte[readLength(inputStream, cacheFile)];
+            inputStream.readFully(signature);
+            if (inputStream.read() != -1) {
+                throw new RuntimeException("unexpected data at the end of cache file");
+            }
+        } finally {
+            inputStream.close();
+        }
+        if (!MessageDigest.isEqual(signature, sign(key, className, bytes))) {
+            throw new RuntimeException("cache file signature mismatch");
+        }
+        return ReflectUtils.defineClass(className, bytes, classLoader);
+
+    }
+
+    /**
+     * 读取长度字段（不能超过文件大小，以免损坏的文件导致分配过大的数组）
+     */
+    private static int readLength(DataInputStream inputStream, File cacheFile) throws Exception {
+
+        int length = inputStream.readInt();
+        if (length < 0 || length > cacheFile.length()) {
+            throw new RuntimeException("invalid length in cache file: " + length);
+        }
+        return length;
+
+    }
+
+    /**
+     * 计算缓存文件的签名
+     */
+    private static byte[] sign(String key, String className, byte[] bytes) throws Exception {
+
+        byte[] keyBytes = key.getBytes(UTF_8);
+        byte[] classNameBytes = className.getBytes(UTF_8);
+        if (StringUtil.isNotEmpty(CACHE_SECRET)) {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(CACHE_SECRET.getBytes(UTF_8), "HmacSHA256"));
+            mac.update(keyBytes);
+            mac.update(classNameBytes);
+            return mac.doFinal(bytes);
+        }
+        MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+        messageDigest.update(keyBytes);
+        messageDigest.update(classNameBytes);
+        return messageDigest.digest(bytes);
+
+    }
+
+    /**
+     * 写入缓存文件（先写临时文件再移动，避免其它进程读取到不完整的文件）
+     */
+    private static void saveClass(File cacheDir, File cacheFile, String key, String className, byte[] bytes)
+            throws Exception {
+
+        if (!cacheDir.isDirectory() && !cacheDir.mkdirs()) {
+            throw new RuntimeException("can not create directory: " + cacheDir);
+        }
+        File tempFile = File.createTempFile(cacheFile.getName(), ".tmp", cacheDir);
+        try {
+            DataOutputStream outputStream = new DataOutputStream(new FileOutputStream(tempFile));
+            try {
+                outputStream.writeUTF(className);
+                outputStream.writeInt(bytes.length);
+                outputStream.write(bytes);
+                byte[] signature = sign(key, className, bytes);
+                outputStream.writeInt(signature.length);
+                outputStream.write(signature);
+            } finally {
+                outputStream.close();
+            }
+            Files.move(tempFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tempFile.toPath());
+        }
+
+    }
+
+    /**
+     * 删除目标类已失效的缓存文件
+     */
+    private static void removeStaleFiles(File cacheDir, String targetClassName, File cacheFile) {
+
+        File[] files = cacheDir.listFiles();
+        if (files == null) {
+            return;
+        }
+        String prefix = targetClassName + ".";
+        for (File file: files) {
+            String suffix = file.getName().startsWith(prefix) ? file.getName().substring(prefix.length()) : null;
+            // 后缀为缓存键（不包含“.”），以免误删名称以目标类名开头的其它类的缓存文件
+            if (suffix != null && suffix.indexOf('.') < 0 && !file.equals(cacheFile)) {
+                file.delete();
+            }
+        }
+
+    }
+
+    /**
+     * 记录生成的字节码的生成策略
+     */
+    private static class CaptureGeneratorStrategy extends DefaultGeneratorStrategy {
+
+        private byte[] bytes;
+
+        @Override
+        protected byte[] transform(byte[] b) throws Exception {
+            bytes = b;
+            return b;
+        }
+
+        byte[] getBytes() {
+            return bytes;
+        }
+
+    }
+
+}
@@ -1,26 +1,122 @@
 package org.smart4j.framework.proxy;
 
+import net.sf.cglib.core.ReflectUtils;
+import net.sf.cglib.proxy.Callback;
+import net.sf.cglib.proxy.CallbackFilter;
 import net.sf.cglib.proxy.Enhancer;
 import net.sf.cglib.proxy.MethodInterceptor;
 import net.sf.cglib.proxy.MethodProxy;
+import net.sf.cglib.proxy.NoOp;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 代理管理器
+ *
+ * 创建代理类时为每个方法确定适用的代理，并链接好该方法的代理链；
+ * 没有适用代理的方法（包括Object类中声明的方法）直接调用父类方法，不经过代理链
  */
 public class ProxyManager {
 
+    // 不经过代理链的回调下标
+    private static final int NO_PROXY_INDEX = 0;
+
     public static <T> T createProxy(final Class<?> targetClass, final List<Proxy> proxyList) {
 
-        return (T) Enhancer.create(targetClass, new MethodInterceptor() {
-            public Object intercept(Object targetObject, Method targetMethod, Object[] methodParams,
-                                    MethodProxy methodProxy) throws Throwable {
-                return new ProxyChain(targetClass, targetObject, targetMethod, methodProxy, methodParams,
-                        proxyList).doProxyChain();
+        // 计算每个方法适用的代理列表，并为每个被代理的方法分配回调下标
+        final Map<Method, Integer> indexMap = new LinkedHashMap<Method, Integer>();
+        List<List<Proxy>> chainProxyList = new ArrayList<List<Proxy>>();
+        List<Method> methodList = new ArrayList<Method>();
+        Enhancer.getMethods(targetClass, null, methodList);
+        for (Method method: methodList) {
+            List<Proxy> methodProxyList = getProxyList(targetClass, method, proxyList);
+            if (!methodProxyList.isEmpty()) {
+                chainProxyList.add(methodProxyList);
+                indexMap.put(method, chainProxyList.size());
+            }
+        }
+        Class<?>[] callbackTypes = new Class<?>[chainProxyList.size() + 1];
+        Arrays.fill(callbackTypes, MethodInterceptor.class);
+        callbackTypes[NO_PROXY_INDEX] = NoOp.class;
+
+        Enhancer enhancer = new Enhancer();
+        enhancer.setSuperclass(targetClass);
+        enhancer.setCallbackFilter(new CallbackFilter() {
+            public int accept(Method method) {
+                Integer index = indexMap.get(method);
+                return index != null ? index : NO_PROXY_INDEX;
             }
         });
+        enhancer.setCallbackTypes(callbackTypes);
+        Class<?> proxyClass = ProxyClassCache.isEnabled()
+                ? ProxyClassCache.createClass(enhancer, targetClass, proxyList, indexMap)
+                : enhancer.createClass();
+
+        // 代理类生成后才能获取方法代理，此时链接每个方法的代理链
+        Callback[] callbacks = new Callback[callbackTypes.length];
+        callbacks[NO_PROXY_INDEX] = NoOp.INSTANCE;
+        for (Map.Entry<Method, Integer> indexEntry: indexMap.entrySet()) {
+            Method method = indexEntry.getKey();
+            int index = indexEntry.getValue();
+            MethodProxy methodProxy = MethodProxy.find(proxyClass, ReflectUtils.getSignature(method));
+            ProxyChain proxyChain = ProxyChain.create(targetClass, method, methodProxy, chainProxyList.get(index - 1));
+            callbacks[index] = new ChainInterceptor(proxyChain);
+        }
+        Enhancer.registerCallbacks(proxyClass, callbacks);
+        try {
+            return (T) ReflectUtils.newInstance(proxyClass);
+        } finally {
+            Enhancer.registerCallbacks(proxyClass, null);
+        }
+
+    }
+
+    /**
+     * 获取目标方法适用的代理列表（保持原有顺序）
+     *
+     * @param targetClass
+     *                  目标类
+     * @param method
+     *                  目标方法
+     * @param proxyList
+     *                  目标类的代理列表
+     * @return
+     */
+    private static List<Proxy> getProxyList(Class<?> targetClass, Method method, List<Proxy> proxyList) {
+
+        if (method.getDeclaringClass() == Object.class) {
+            return new ArrayList<Proxy>();
+        }
+        List<Proxy> methodProxyList = new ArrayList<Proxy>();
+        for (Proxy proxy: proxyList) {
+            if (proxy.supports(targetClass, method)) {
+                methodProxyList.add(proxy);
+            }
+        }
+        return methodProxyList;
+
+    }
+
+    /**
+     * 执行预先链接好的代理链的方法拦截器
+     */
+    private static class ChainInterceptor implements MethodInterceptor {
+
+        private final ProxyChain proxyChain;
+
+        ChainInterceptor(ProxyChain proxyChain) {
+            this.proxyChain = proxyChain;
+        }
+
+        public Object intercept(Object targetObject, Method targetMethod, Object[] methodParams,
+                                MethodProxy methodProxy) throws Throwable {
+            return proxyChain.doProxyChain(targetObject, methodParams);
+        }
 
     }
 
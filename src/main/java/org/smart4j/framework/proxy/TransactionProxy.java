@@ -6,6 +6,8 @@ import org.smart4j.framework.annotation.Transaction;
 import org.smart4j.framework.helper.DatabaseHelper;
 
 import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 事务代理
@@ -21,18 +23,36 @@ public class TransactionProxy implements Proxy {
         }
     };
 
-    public Object doProxy(ProxyChain proxyChain) throws Throwable {
+    // 方法与其事务注解之间的映射关系（创建代理类时确定）
+    private final Map<Method, Transaction> transactionMap = new ConcurrentHashMap<Method, Transaction>();
+
+    /**
+     * 仅代理带有事务注解的方法
+     */
+    public boolean supports(Class<?> cls, Method method) {
+
+        Transaction transaction = method.getAnnotation(Transaction.class);
+        if (transaction == null) {
+            return false;
+        }
+        transactionMap.put(method, transaction);
+        return true;
+
+    }
+
+    public Object doProxy(ProxyChain proxyChain, Object targetObject, Object[] methodParams) throws Throwable {
 
         Object result;
         boolean flag = FLAG_HOLDER.get();
-        Method method = proxyChain.getTargetMethod();
 
-        if (!flag && method.isAnnotationPresent(Transaction.class)) {// 第一次执行并且存在事务注解
+        if (!flag) {// 第一次执行（方法上存在事务注解）
             FLAG_HOLDER.set(true);
+            Transaction transaction = transactionMap.get(proxyChain.getTargetMethod());
             try {
-                DatabaseHelper.beginTransaction();// 开启事务
+                DatabaseHelper.beginTransaction(transaction.readOnly(), transaction.isolation(),
+                        transaction.timeout());// 开启事务
                 LOGGER.debug("begin transaction");
-                result = proxyChain.doProxyChain();
+                result = proxyChain.doProxyChain(targetObject, methodParams);
                 DatabaseHelper.commitTransaction();// 提交事务
                 LOGGER.debug("commit transaction");
             } catch (Exception e) {
@@ -43,9 +63,10 @@ public class TransactionProxy implements Proxy {
                 FLAG_HOLDER.remove();
             }
         } else {
-            result = proxyChain.doProxyChain();
+            result = proxyChain.doProxyChain(targetObject, methodParams);
         }
         return result;
 
     }
+
 }
@@ -5,6 +5,7 @@ import org.slf4j.LoggerFactory;
 
 import java.net.URLDecoder;
 import java.net.URLEncoder;
+import java.security.MessageDigest;
 
 /**
  * 编码与解码操作工具类
@@ -13,6 +14,8 @@ public final class CodecUtil {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(CodecUtil.class);
 
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
     /**
      * 将 URL 编码
      *
@@ -53,4 +56,43 @@ public final class CodecUtil {
 
     }
 
+    /**
+     * 计算 MD5 摘要（十六进制字符串）
+     *
+     * @param source
+     *                  待计算的字节数组
+     * @return
+     */
+    public static String encodeMD5(byte[] source) {
+
+        String target;
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(source);
+            target = toHex(digest);
+        } catch (Exception e) {
+            LOGGER.error("encode md5 failure", e);
+            throw new RuntimeException(e);
+        }
+        return target;
+
+    }
+
+    /**
+     * 将字节数组转为十六进制字符串
+     *
+     * @param bytes
+     *                  字节数组
+     * @return
+     */
+    public static String toHex(byte[] bytes) {
+
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = HEX_DIGITS[(bytes[i] >> 4) & 0x0f];
+            chars[i * 2 + 1] = HEX_DIGITS[bytes[i] & 0x0f];
+        }
+        return new String(chars);
+
+    }
+
 }
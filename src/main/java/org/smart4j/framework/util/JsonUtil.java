@@ -1,9 +1,21 @@
 package org.smart4j.framework.util;
 
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 /**
  * 流操作工具类
  */
@@ -13,6 +25,13 @@ public final class JsonUtil {
 
     private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
 
+    // 逐条输出数据时使用的 ObjectWriter（每条数据写入后不自动刷新，由调用方决定刷新时机）
+    private static final ObjectWriter ITEM_WRITER
+            = OBJECT_MAPPER.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+    // 按类型缓存的 ObjectReader（线程安全，可复用）
+    private static final ConcurrentMap<Type, ObjectReader> READER_MAP = new ConcurrentHashMap<Type, ObjectReader>();
+
     /**
      * 将 POJO 转为 JSON
      *
@@ -35,6 +54,90 @@ public final class JsonUtil {
 
     }
 
+    /**
+     * 将 POJO 转为 UTF-8 编码的 JSON 字节数组
+     *
+     * @param obj
+     *              POJO
+     * @param <T>
+     *              泛型
+     * @return
+     */
+    public static <T> byte[] toJsonBytes(T obj) {
+
+        byte[] bytes;
+        try {
+            bytes = OBJECT_MAPPER.writeValueAsBytes(obj);
+        } catch (Exception e) {
+            LOGGER.error("convert POJO to JSON failure", e);
+            throw new RuntimeException(e);
+        }
+        return bytes;
+
+    }
+
+    /**
+     * 将 POJO 以 JSON 形式直接写入输出流（使用 Jackson 可复用的缓冲区，不生成中间字符串，也不刷新或关闭输出流）
+     *
+     * @param outputStream
+     *              输出流
+     * @param obj
+     *              POJO
+     * @param <T>
+     *              泛型
+     */
+    public static <T> void writeJson(OutputStream outputStream, T obj) {
+
+        try {
+            JsonGenerator generator = OBJECT_MAPPER.getFactory().createGenerator(outputStream, JsonEncoding.UTF8);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);// 不向下层输出流传递 flush
+            OBJECT_MAPPER.writeValue(generator, obj);
+            generator.close();// 写出剩余缓冲并归还缓冲区
+        } catch (Exception e) {
+            LOGGER.error("write POJO as JSON failure", e);
+            throw new RuntimeException(e);
+        }
+
+    }
+
+    /**
+     * 创建直接写入输出流的 JsonGenerator（用于逐条输出数据；根级数据之间不加分隔符，关闭时不关闭输出流）
+     *
+     * @param outputStream
+     *              输出流
+     * @return
+     */
+    public static JsonGenerator createGenerator(OutputStream outputStream) {
+
+        JsonGenerator generator;
+        try {
+            generator = OBJECT_MAPPER.getFactory().createGenerator(outputStream, JsonEncoding.UTF8);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+        } catch (Exception e) {
+            LOGGER.error("create JSON generator failure", e);
+            throw new RuntimeException(e);
+        }
+        return generator;
+
+    }
+
+    /**
+     * 使用 JsonGenerator 写入一条数据（不刷新）
+     *
+     * @param generator
+     *              JsonGenerator
+     * @param obj
+     *              POJO
+     * @throws IOException
+     */
+    public static void writeValue(JsonGenerator generator, Object obj) throws IOException {
+
+        ITEM_WRITER.writeValue(generator, obj);
+
+    }
+
     /**
      * 将 JSON 转为 POJO
      *
@@ -59,4 +162,49 @@ public final class JsonUtil {
 
     }
 
+    /**
+     * 获取指定类型的 ObjectReader（按类型缓存）
+     *
+     * @param type
+     *              POJO 类型（可为泛型类型）
+     * @return
+     */
+    public static ObjectReader getReader(Type type) {
+
+        ObjectReader objectReader = READER_MAP.get(type);
+        if (objectReader == null) {
+            objectReader = OBJECT_MAPPER.readerFor(OBJECT_MAPPER.getTypeFactory().constructType(type));
+            ObjectReader existing = READER_MAP.putIfAbsent(type, objectReader);
+            if (existing != null) {
+                objectReader = existing;
+            }
+        }
+        return objectReader;
+
+    }
+
+    /**
+     * 从输入流中读取 JSON 并转为 POJO（不生成中间字符串）
+     *
+     * @param inputStream
+     *              输入流
+     * @param objectReader
+     *              ObjectReader
+     * @param <T>
+     *              泛型
+     * @return
+     */
+    public static <T> T fromJson(InputStream inputStream, ObjectReader objectReader) {
+
+        T pojo;
+        try {
+            pojo = objectReader.readValue(inputStream);
+        } catch (Exception e) {
+            LOGGER.error("convert JSON to POJO failure", e);
+            throw new RuntimeException(e);
+        }
+        return pojo;
+
+    }
+
 }
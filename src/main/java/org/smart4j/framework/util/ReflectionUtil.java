@@ -3,6 +3,8 @@ package org.smart4j.framework.util;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 
@@ -58,6 +60,27 @@ public final class ReflectionUtil {
 
     }
 
+    /**
+     * 获取方法句柄（只在启动时调用，运行时通过句柄调用可被JIT内联）
+     *
+     * @param method
+     *                  类中方法
+     * @return
+     */
+    public static MethodHandle unreflect(Method method) {
+
+        MethodHandle methodHandle;
+        try {
+            method.setAccessible(true);
+            methodHandle = MethodHandles.lookup().unreflect(method);
+        } catch (Exception e) {
+            LOGGER.error("unreflect method failure", e);
+            throw new RuntimeException(e);
+        }
+        return methodHandle;
+
+    }
+
     /**
      * 设置成员变量的值
      *
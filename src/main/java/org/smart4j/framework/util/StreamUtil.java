@@ -3,10 +3,10 @@ package org.smart4j.framework.util;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.BufferedReader;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
+import java.io.Reader;
 
 /**
  * 流操作工具类
@@ -26,10 +26,12 @@ public final class StreamUtil {
 
         StringBuilder sb = new StringBuilder();
         try {
-            BufferedReader reader = new BufferedReader(new InputStreamReader(is));
-            String line;
-            while ((line = reader.readLine()) != null) {
-                sb.append(line);
+            // 按 UTF-8 读取，并保留原有的换行符
+            Reader reader = new InputStreamReader(is, "UTF-8");
+            char[] buffer = new char[4 * 1024];
+            int length;
+            while ((length = reader.read(buffer, 0, buffer.length)) != -1) {
+                sb.append(buffer, 0, length);
             }
         } catch (Exception e) {
             LOGGER.error("get String failure", e);
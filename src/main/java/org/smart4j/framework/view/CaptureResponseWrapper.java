@@ -0,0 +1,182 @@
+package org.smart4j.framework.view;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+
+/**
+ * 捕获页面输出的响应包装类（用于缓存渲染后的页面，响应头仍写入原响应）
+ */
+public class CaptureResponseWrapper extends HttpServletResponseWrapper {
+
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(8 * 1024);
+
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+    private int status = SC_OK;
+    private boolean committed;// 是否已刷新缓冲区（对被转发的资源表现为响应已提交）
+
+    public CaptureResponseWrapper(HttpServletResponse response) {
+        super(response);
+    }
+
+    /**
+     * 获取捕获的页面内容
+     *
+     * @return
+     */
+    public byte[] toByteArray() {
+
+        if (writer != null) {
+            writer.flush();
+        }
+        return buffer.toByteArray();
+
+    }
+
+    /**
+     * 是否可以缓存（仅缓存正常输出的页面）
+     *
+     * @return
+     */
+    public boolean isCacheable() {
+
+        return status == SC_OK;
+
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() has already been called");
+        }
+        if (outputStream == null) {
+            outputStream = new ServletOutputStream() {
+                @Override
+                public void write(int b) {
+                    buffer.write(b);
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) {
+                    buffer.write(b, off, len);
+                }
+
+                @Override
+                public void flush() {
+                    committed = true;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setWriteListener(WriteListener writeListener) {
+                    // 写入内存缓冲区不会阻塞，始终可写
+                    try {
+                        writeListener.onWritePossible();
+                    } catch (Throwable e) {
+                        writeListener.onError(e);
+                    }
+                }
+            };
+        }
+        return outputStream;
+
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+
+        if (outputStream != null) {
+            throw new IllegalStateException("getOutputStream() has already been called");
+        }
+        if (writer == null) {
+            writer = new PrintWriter(new OutputStreamWriter(buffer, getCharacterEncoding()));
+        }
+        return writer;
+
+    }
+
+    @Override
+    public void setStatus(int sc) {
+
+        status = sc;
+        super.setStatus(sc);
+
+    }
+
+    @Override
+    public void sendError(int sc) throws IOException {
+
+        status = sc;
+        super.sendError(sc);
+
+    }
+
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+
+        status = sc;
+        super.sendError(sc, msg);
+
+    }
+
+    @Override
+    public void sendRedirect(String location) throws IOException {
+
+        status = SC_FOUND;
+        super.sendRedirect(location);
+
+    }
+
+    @Override
+    public void setContentLength(int len) {
+        // 长度由输出缓存内容时决定
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+        // 长度由输出缓存内容时决定
+    }
+
+    @Override
+    public void flushBuffer() {
+
+        if (writer != null) {
+            writer.flush();
+        }
+        committed = true;
+
+    }
+
+    @Override
+    public void resetBuffer() {
+
+        if (isCommitted()) {
+            throw new IllegalStateException("response has already been committed");
+        }
+        if (writer != null) {
+            writer.flush();
+        }
+        buffer.reset();
+
+    }
+
+    @Override
+    public boolean isCommitted() {
+
+        // 内容写入缓冲区，只有刷新缓冲区或原响应已提交（如 sendError、sendRedirect）时才视为已提交
+        return committed || super.isCommitted();
+
+    }
+
+}
@@ -0,0 +1,40 @@
+package org.smart4j.framework.view;
+
+import org.smart4j.framework.bean.View;
+import org.smart4j.framework.helper.ConfigHelper;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.ServletContext;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * JSP 视图渲染器（将模型数据放入请求属性后转发到 JSP）
+ */
+public class JspViewRenderer implements ViewRenderer {
+
+    private final String jspPath = ConfigHelper.getAppJspPath();
+
+    public void init(ServletContext servletContext) {
+    }
+
+    public boolean render(View view, HttpServletRequest request, HttpServletResponse response,
+                          AsyncContext asyncContext) throws IOException, ServletException {
+
+        Map<String, Object> model = view.getModel();
+        for (Map.Entry<String, Object> entry: model.entrySet()) {
+            request.setAttribute(entry.getKey(), entry.getValue());
+        }
+        if (asyncContext != null) {// 交由容器异步转发
+            asyncContext.dispatch(jspPath + view.getPath());
+            return true;
+        }
+        request.getRequestDispatcher(jspPath + view.getPath()).forward(request, response);
+        return false;
+
+    }
+
+}
@@ -0,0 +1,388 @@
+package org.smart4j.framework.view;
+
+import java.beans.BeanInfo;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 已编译的模板
+ *
+ * 支持以下标签（与 Mustache 相同）：
+ * {{name}} 输出转义后的值，{{{name}}} 或 {{&name}} 输出原始值，
+ * {{#name}}...{{/name}} 区块（集合与数组逐项渲染，false 或空值时跳过），
+ * {{^name}}...{{/name}} 反向区块，{{> name}} 引入其它模板，{{! 注释}}；
+ * 名称可使用 a.b 访问 Map 的键或对象的属性，{{.}} 表示当前对象
+ */
+public class Template {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    // 按类缓存的属性读取方法
+    private static final ConcurrentMap<Class<?>, Map<String, Method>> GETTER_MAP
+            = new ConcurrentHashMap<Class<?>, Map<String, Method>>();
+
+    private final Node[] nodes;
+
+    private Template(Node[] nodes) {
+        this.nodes = nodes;
+    }
+
+    /**
+     * 将模型数据渲染到输出流
+     *
+     * @param model
+     *              模型数据
+     * @param outputStream
+     *              输出流
+     * @throws IOException
+     */
+    public void render(Object model, OutputStream outputStream) throws IOException {
+
+        List<Object> context = new ArrayList<Object>();
+        context.add(model);
+        renderNodes(nodes, context, outputStream);
+
+    }
+
+    /**
+     * 编译模板
+     *
+     * @param source
+     *              模板内容
+     * @param renderer
+     *              模板渲染器（用于引入其它模板）
+     * @return
+     */
+    public static Template compile(String source, TemplateViewRenderer renderer) {
+
+        List<List<Node>> nodeStack = new ArrayList<List<Node>>();
+        List<String> nameStack = new ArrayList<String>();
+        List<Boolean> invertedStack = new ArrayList<Boolean>();
+        List<Node> nodeList = new ArrayList<Node>();
+        int position = 0;
+        while (position < source.length()) {
+            int start = source.indexOf("{{", position);
+            if (start < 0) {
+                nodeList.add(new TextNode(source.substring(position)));
+                break;
+            }
+            if (start > position) {
+                nodeList.add(new TextNode(source.substring(position, start)));
+            }
+            boolean triple = source.startsWith("{{{", start);
+            String close = triple ? "}}}" : "}}";
+            int end = source.indexOf(close, start + close.length());
+            if (end < 0) {
+                throw new RuntimeException("template parse failure: unclosed tag at " + start);
+            }
+            String tag = source.substring(start + close.length(), end).trim();
+            position = end + close.length();
+            if (triple) {
+                nodeList.add(new VariableNode(tag, false));
+                continue;
+            }
+            char type = tag.isEmpty() ? ' ' : tag.charAt(0);
+            String name = tag.length() > 1 ? tag.substring(1).trim() : "";
+            switch (type) {
+                case '!':// 注释
+                    break;
+                case '&':// 原始值
+                    nodeList.add(new VariableNode(name, false));
+                    break;
+                case '>':// 引入其它模板
+                    nodeList.add(new PartialNode(name, renderer));
+                    break;
+                case '#':// 区块
+                case '^':// 反向区块
+                    nodeStack.add(nodeList);
+                    nameStack.add(name);
+                    invertedStack.add(type == '^');
+                    nodeList = new ArrayList<Node>();
+                    break;
+                case '/':// 区块结束
+                    int last = nameStack.size() - 1;
+                    if (last < 0 || !nameStack.get(last).equals(name)) {
+                        throw new RuntimeException("template parse failure: unexpected {{/" + name + "}}");
+                    }
+                    Node[] children = nodeList.toArray(new Node[nodeList.size()]);
+                    boolean inverted = invertedStack.remove(last);
+                    nameStack.remove(last);
+                    nodeList = nodeStack.remove(last);
+                    nodeList.add(new SectionNode(name, inverted, children));
+                    break;
+                default:
+                    nodeList.add(new VariableNode(tag, true));
+            }
+        }
+        if (!nameStack.isEmpty()) {
+            throw new RuntimeException("template parse failure: unclosed {{#" + nameStack.get(nameStack.size() - 1) + "}}");
+        }
+        return new Template(nodeList.toArray(new Node[nodeList.size()]));
+
+    }
+
+    private static void renderNodes(Node[] nodes, List<Object> context, OutputStream outputStream)
+            throws IOException {
+
+        for (Node node: nodes) {
+            node.render(context, outputStream);
+        }
+
+    }
+
+    /**
+     * 从上下文中查找名称对应的值（由内向外查找第一段名称）
+     */
+    private static Object lookup(List<Object> context, String[] names) {
+
+        if (names.length == 0) {// {{.}}
+            return context.get(context.size() - 1);
+        }
+        for (int i = context.size() - 1; i >= 0; i--) {
+            Object scope = context.get(i);
+            if (hasProperty(scope, names[0])) {
+                Object value = getProperty(scope, names[0]);
+                for (int j = 1; j < names.length && value != null; j++) {
+                    value = getProperty(value, names[j]);
+                }
+                return value;
+            }
+        }
+        return null;
+
+    }
+
+    private static boolean hasProperty(Object scope, String name) {
+
+        if (scope == null) {
+            return false;
+        }
+        if (scope instanceof Map) {
+            return ((Map<?, ?>) scope).containsKey(name);
+        }
+        return getGetterMap(scope.getClass()).containsKey(name);
+
+    }
+
+    private static Object getProperty(Object scope, String name) {
+
+        if (scope instanceof Map) {
+            return ((Map<?, ?>) scope).get(name);
+        }
+        Method getter = getGetterMap(scope.getClass()).get(name);
+        if (getter == null) {
+            return null;
+        }
+        try {
+            return getter.invoke(scope);
+        } catch (Exception e) {
+            throw new RuntimeException("read property " + name + " failure", e);
+        }
+
+    }
+
+    private static Map<String, Method> getGetterMap(Class<?> cls) {
+
+        Map<String, Method> getterMap = GETTER_MAP.get(cls);
+        if (getterMap == null) {
+            getterMap = new HashMap<String, Method>();
+            try {
+                BeanInfo beanInfo = Introspector.getBeanInfo(cls, Object.class);
+                for (PropertyDescriptor propertyDescriptor: beanInfo.getPropertyDescriptors()) {
+                    Method getter = propertyDescriptor.getReadMethod();
+                    if (getter != null) {
+                        getter.setAccessible(true);
+                        getterMap.put(propertyDescriptor.getName(), getter);
+                    }
+                }
+            } catch (Exception e) {
+                throw new RuntimeException("introspect " + cls.getName() + " failure", e);
+            }
+            GETTER_MAP.putIfAbsent(cls, getterMap);
+        }
+        return getterMap;
+
+    }
+
+    private static boolean isFalsy(Object value) {
+
+        if (value == null || Boolean.FALSE.equals(value)) {
+            return true;
+        }
+        if (value instanceof Collection) {
+            return ((Collection<?>) value).isEmpty();
+        }
+        if (value.getClass().isArray()) {
+            return Array.getLength(value) == 0;
+        }
+        return false;
+
+    }
+
+    private static String escapeHtml(String value) {
+
+        StringBuilder sb = null;
+        for (int i = 0; i < value.length(); i++) {
+            String replacement;
+            switch (value.charAt(i)) {
+                case '&': replacement = "&amp;"; break;
+                case '<': replacement = "&lt;"; break;
+                case '>': replacement = "&gt;"; break;
+                case '"': replacement = "&quot;"; break;
+                case '\'': replacement = "&#39;"; break;
+                default: replacement = null;
+            }
+            if (replacement != null) {
+                if (sb == null) {
+                    sb = new StringBuilder(value.length() + 16).append(value, 0, i);
+                }
+                sb.append(replacement);
+            } else if (sb != null) {
+                sb.append(value.charAt(i));
+            }
+        }
+        return sb != null ? sb.toString() : value;
+
+    }
+
+    private static String[] splitName(String name) {
+
+        return ".".equals(name) ? new String[0] : name.split("\\.");
+
+    }
+
+    /**
+     * 模板节点
+     */
+    private interface Node {
+
+        void render(List<Object> context, OutputStream outputStream) throws IOException;
+
+    }
+
+    /**
+     * 静态文本（编译时即转为 UTF-8 字节）
+     */
+    private static class TextNode implements Node {
+
+        private final byte[] bytes;
+
+        TextNode(String text) {
+            this.bytes = text.getBytes(UTF_8);
+        }
+
+        public void render(List<Object> context, OutputStream outputStream) throws IOException {
+            outputStream.write(bytes);
+        }
+
+    }
+
+    /**
+     * 变量
+     */
+    private static class VariableNode implements Node {
+
+        private final String[] names;
+        private final boolean escape;
+
+        VariableNode(String name, boolean escape) {
+            this.names = splitName(name);
+            this.escape = escape;
+        }
+
+        public void render(List<Object> context, OutputStream outputStream) throws IOException {
+            Object value = lookup(context, names);
+            if (value != null) {
+                String text = String.valueOf(value);
+                outputStream.write((escape ? escapeHtml(text) : text).getBytes(UTF_8));
+            }
+        }
+
+    }
+
+    /**
+     * 区块与反向区块
+     */
+    private static class SectionNode implements Node {
+
+        private final String[] names;
+        private final boolean inverted;
+        private final Node[] children;
+
+        SectionNode(String name, boolean inverted, Node[] children) {
+            this.names = splitName(name);
+            this.inverted = inverted;
+            this.children = children;
+        }
+
+        public void render(List<Object> context, OutputStream outputStream) throws IOException {
+            Object value = lookup(context, names);
+            if (inverted) {
+                if (isFalsy(value)) {
+                    renderNodes(children, context, outputStream);
+                }
+                return;
+            }
+            if (isFalsy(value)) {
+                return;
+            }
+            if (value instanceof Boolean) {
+                renderNodes(children, context, outputStream);
+            } else if (value instanceof Iterable) {
+                for (Object item: (Iterable<?>) value) {
+                    renderItem(item, context, outputStream);
+                }
+            } else if (value.getClass().isArray()) {
+                int length = Array.getLength(value);
+                for (int i = 0; i < length; i++) {
+                    renderItem(Array.get(value, i), context, outputStream);
+                }
+            } else {
+                renderItem(value, context, outputStream);
+            }
+        }
+
+        private void renderItem(Object item, List<Object> context, OutputStream outputStream) throws IOException {
+            context.add(item);
+            try {
+                renderNodes(children, context, outputStream);
+            } finally {
+                context.remove(context.size() - 1);
+            }
+        }
+
+    }
+
+    /**
+     * 引入的其它模板（渲染时获取，允许模板之间相互引用）
+     */
+    private static class PartialNode implements Node {
+
+        private final String name;
+        private final TemplateViewRenderer renderer;
+
+        PartialNode(String name, TemplateViewRenderer renderer) {
+            this.name = name;
+            this.renderer = renderer;
+        }
+
+        public void render(List<Object> context, OutputStream outputStream) throws IOException {
+            Template template = renderer.getTemplate(name);
+            renderNodes(template.nodes, context, outputStream);
+        }
+
+    }
+
+}
@@ -0,0 +1,105 @@
+package org.smart4j.framework.view;
+
+import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.smart4j.framework.bean.View;
+import org.smart4j.framework.helper.ConfigHelper;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.ServletContext;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 模板视图渲染器
+ *
+ * 模板首次使用时编译并缓存，渲染时直接写入响应输出流，不经过请求转发
+ */
+public class TemplateViewRenderer implements ViewRenderer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TemplateViewRenderer.class);
+
+    private final String templatePath = ConfigHelper.getAppTemplatePath();
+
+    // 已编译的模板（键为相对于模板路径的模板名）
+    private final ConcurrentMap<String, Template> templateMap = new ConcurrentHashMap<String, Template>();
+
+    private ServletContext servletContext;
+
+    public void init(ServletContext servletContext) {
+
+        this.servletContext = servletContext;
+
+    }
+
+    public boolean render(View view, HttpServletRequest request, HttpServletResponse response,
+                          AsyncContext asyncContext) throws IOException {
+
+        Template template = getTemplate(view.getPath());
+        if (response.getContentType() == null) {
+            response.setContentType("text/html");
+        }
+        // 模板始终输出 UTF-8 字节，已设置的响应类型可能未指定或指定了其它字符集
+        response.setCharacterEncoding("UTF-8");
+        OutputStream outputStream = response.getOutputStream();
+        template.render(view.getModel(), outputStream);
+        return false;
+
+    }
+
+    /**
+     * 获取已编译的模板（首次使用时加载并编译）
+     *
+     * @param name
+     *              模板名（相对于模板路径）
+     * @return
+     */
+    public Template getTemplate(String name) {
+
+        Template template = templateMap.get(name);
+        if (template == null) {
+            template = Template.compile(loadTemplate(name), this);
+            Template existing = templateMap.putIfAbsent(name, template);
+            if (existing != null) {
+                template = existing;
+            }
+        }
+        return template;
+
+    }
+
+    /**
+     * 清空已编译的模板（模板文件更新后调用）
+     */
+    public void clear() {
+
+        templateMap.clear();
+
+    }
+
+    private String loadTemplate(String name) {
+
+        String source;
+        InputStream inputStream = servletContext.getResourceAsStream(templatePath + name);
+        if (inputStream == null) {
+            throw new RuntimeException("template not found: " + templatePath + name);
+        }
+        try {
+            source = IOUtils.toString(inputStream, "UTF-8");
+        } catch (IOException e) {
+            LOGGER.error("load template failure", e);
+            throw new RuntimeException(e);
+        } finally {
+            IOUtils.closeQuietly(inputStream);
+        }
+        return source;
+
+    }
+
+}
@@ -0,0 +1,43 @@
+package org.smart4j.framework.view;
+
+import org.smart4j.framework.bean.View;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.ServletContext;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * 视图渲染器（通过 smart.framework.app.view_renderer 配置，默认使用 JSP）
+ */
+public interface ViewRenderer {
+
+    /**
+     * 初始化
+     *
+     * @param servletContext
+     *                          ServletContext对象
+     */
+    void init(ServletContext servletContext);
+
+    /**
+     * 渲染视图
+     *
+     * @param view
+     *                  视图对象（路径为相对路径）
+     * @param request
+     *                  HttpServletRequest
+     * @param response
+     *                  HttpServletResponse
+     * @param asyncContext
+     *                  异步上下文（同步处理时为null）
+     * @return 是否已将请求异步转发（此时由容器结束异步处理）
+     * @throws IOException
+     * @throws ServletException
+     */
+    boolean render(View view, HttpServletRequest request, HttpServletResponse response, AsyncContext asyncContext)
+            throws IOException, ServletException;
+
+}